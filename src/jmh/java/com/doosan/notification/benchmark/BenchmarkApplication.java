@@ -0,0 +1,65 @@
+package com.doosan.notification.benchmark;
+
+import com.doosan.notification.InventoryNotificationSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 벤치마크용 스프링 컨텍스트 (H2 메모리 DB, 웹 서버 없이 실행)
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return start(databaseName, Map.of());
+    }
+
+    // overrides: 벤치마크별로 바꿔서 비교할 설정 (예: notification.restock.locking)
+    static ConfigurableApplicationContext start(String databaseName, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.main.web-application-type", "none");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;MODE=MYSQL");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", "100");
+        properties.put("spring.jpa.properties.hibernate.order_inserts", "true");
+        // 속도 제한 자체는 RateLimiterBenchmark 에서 측정하므로 전송 경로 측정에서는 제한이 걸리지 않도록 크게 설정
+        properties.put("rate.limiter.max.requests", "100000000");
+        // GenerateSQLScripts(CommandLineRunner)가 벤치마크 DB 에 샘플 데이터를 넣지 않도록 빈 DB 를 지정
+        properties.put("jdbcURL", "jdbc:h2:mem:unused");
+        properties.put("dbUser", "sa");
+        properties.put("dbPassword", "");
+        // 사용자마다 남기는 INFO 로그가 측정값을 좌우하지 않도록
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(InventoryNotificationSystemApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    // 상품, 재고, 구독자 데이터 생성
+    static void seedProduct(JdbcTemplate jdbcTemplate, long productId, int stockQuantity, int subscribers) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, ?, NOW())",
+                productId, stockQuantity);
+
+        List<Object[]> batch = new ArrayList<>();
+        for (int userId = 1; userId <= subscribers; userId++) {
+            batch.add(new Object[]{productId, userId});
+            if (batch.size() == 1000 || userId == subscribers) {
+                jdbcTemplate.batchUpdate("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                        "VALUES (?, ?, true, NOW(), NOW())", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.doosan.notification.benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 비교용: 토큰 버킷 도입 이전의 1초 고정 윈도우 + ReentrantLock 구현
+// 락 비용만 비교하기 위해 요청마다 남기던 로그는 제외했다
+class FixedWindowRateLimiter {
+
+    private final int maxRequestsPerSecond;
+    private final AtomicInteger requestCount = new AtomicInteger(0);
+    private long lastResetTime = System.nanoTime();
+    private final Lock lock = new ReentrantLock();
+
+    FixedWindowRateLimiter(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    boolean tryAcquire() {
+        long currentTime = System.nanoTime();
+        lock.lock();
+        try {
+            if ((currentTime - lastResetTime) > 1_000_000_000L) {
+                requestCount.set(0);
+                lastResetTime = currentTime;
+            }
+            if (requestCount.get() < maxRequestsPerSecond) {
+                requestCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.doosan.notification.benchmark;
+
+import com.doosan.notification.entity.Product;
+import com.doosan.notification.entity.ProductUserNotificationHistory;
+import com.doosan.notification.repository.ProductRepository;
+import com.doosan.notification.repository.ProductUserNotificationHistoryRepository;
+import com.doosan.notification.service.NotificationHistoryWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// 알림 히스토리 저장 경로 (행 하나당 평균 시간)
+// perRowSave : 행마다 repository.save (이전 방식)
+// bufferedWriter : NotificationHistoryWriter 버퍼 + 배치 insert
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryInsertBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ProductUserNotificationHistoryRepository historyRepository;
+    private NotificationHistoryWriter historyWriter;
+    private JdbcTemplate jdbcTemplate;
+    private Product product;
+    private long nextUserId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("history-insert");
+        historyRepository = context.getBean(ProductUserNotificationHistoryRepository.class);
+        historyWriter = context.getBean(NotificationHistoryWriter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seedProduct(jdbcTemplate, PRODUCT_ID, 0, 0);
+        product = context.getBean(ProductRepository.class).findById(PRODUCT_ID).orElseThrow();
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.execute("TRUNCATE TABLE product_user_notification_history");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void perRowSave() {
+        for (int i = 0; i < ROWS; i++) {
+            historyRepository.save(newHistory());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void bufferedWriter() {
+        for (int i = 0; i < ROWS; i++) {
+            historyWriter.append(newHistory());
+        }
+        historyWriter.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private ProductUserNotificationHistory newHistory() {
+        ProductUserNotificationHistory history = new ProductUserNotificationHistory();
+        history.setProduct(product);
+        history.setUserId(++nextUserId);
+        history.setRestockRound(1);
+        return history;
+    }
+}
@@ -0,0 +1,68 @@
+package com.doosan.notification.benchmark;
+
+import com.doosan.notification.util.NotificationRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// NotificationRateLimiter.tryAcquire 처리량 (스레드 1/8/64개)
+// fixedWindow* 는 토큰 버킷 도입 이전의 1초 고정 윈도우 + ReentrantLock 구현으로, 같은 조건에서 토큰 버킷이 느려지지 않았는지 비교한다
+// 500 : 운영 설정 (대부분 토큰이 없어 바로 거절되는 경로)
+// 100000000 : 토큰이 거의 항상 있어 CAS 경합이 그대로 드러나는 경로
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"500", "100000000"})
+    private int permitsPerSecond;
+
+    private NotificationRateLimiter rateLimiter;
+    private FixedWindowRateLimiter fixedWindowRateLimiter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rateLimiter = new NotificationRateLimiter(permitsPerSecond, 0);
+        rateLimiter.init();
+        fixedWindowRateLimiter = new FixedWindowRateLimiter(permitsPerSecond);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean tryAcquire1Thread() {
+        return rateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean tryAcquire8Threads() {
+        return rateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean tryAcquire64Threads() {
+        return rateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean fixedWindow1Thread() {
+        return fixedWindowRateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean fixedWindow8Threads() {
+        return fixedWindowRateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean fixedWindow64Threads() {
+        return fixedWindowRateLimiter.tryAcquire();
+    }
+}
@@ -0,0 +1,97 @@
+package com.doosan.notification.benchmark;
+
+import com.doosan.notification.repository.ProductStockRepository;
+import com.doosan.notification.service.NotificationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 같은 상품에 재입고 알림 준비와 재고 차감이 동시에 몰릴 때 락 방식별 처리량 비교
+// - restock: 구독자 1명인 상품의 재입고 알림 전송 (준비 트랜잭션 + 전송, 백그라운드 작업이 쌓이지 않도록 동기 실행)
+// - reserve: 재고 1개 예약 (조건부 UPDATE)
+// restock 스레드마다 다른 상품을 맡기고 reserve 스레드가 같은 상품들의 재고 행을 나눠 차감한다
+// (restock 스레드끼리 같은 상품을 쓰면 동시 요청이 한 회차로 합쳐져 락 대신 합류 대기를 재게 된다)
+// pessimistic 은 준비 트랜잭션 동안 상품/재고 행을 잠그므로 재고 차감이 그 뒤에 줄을 서고,
+// optimistic 은 회차 증가 UPDATE 부터 커밋까지만 상품 행을 잠그고 재고 행은 잠그지 않는다
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestockLockingBenchmark {
+
+    private static final int PRODUCTS = 4; // restock 스레드 수와 같게 (스레드마다 상품 하나)
+
+    @Param({"pessimistic", "optimistic"})
+    public String locking;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private ProductStockRepository productStockRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("restock-locking-" + locking, Map.of(
+                "notification.restock.locking", locking,
+                "notification.restock.optimistic-max-attempts", "20"));
+        notificationService = context.getBean(NotificationService.class);
+        productStockRepository = context.getBean(ProductStockRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            BenchmarkApplication.seedProduct(jdbcTemplate, productId, Integer.MAX_VALUE, 1); // 측정 중 소진되지 않도록
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(PRODUCTS)
+    public Object restock(RestockProduct product) {
+        try {
+            return notificationService.sendRestockNotification(product.productId);
+        } catch (OptimisticLockingFailureException e) {
+            return e; // 재시도 한도를 넘긴 요청 (409 로 응답되는 경우)
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(4)
+    public int reserve(ReserveProduct product) {
+        return productStockRepository.reserveStock(product.productId, 1);
+    }
+
+    // restock 스레드가 맡는 상품 (스레드마다 다른 상품)
+    @State(Scope.Thread)
+    public static class RestockProduct {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        long productId;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            productId = NEXT.getAndIncrement() % PRODUCTS + 1;
+        }
+    }
+
+    // reserve 스레드가 차감하는 상품 (restock 스레드가 준비 중인 상품들에 고르게 나눔)
+    @State(Scope.Thread)
+    public static class ReserveProduct {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        long productId;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            productId = NEXT.getAndIncrement() % PRODUCTS + 1;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
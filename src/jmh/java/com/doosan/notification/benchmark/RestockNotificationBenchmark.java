@@ -0,0 +1,59 @@
+package com.doosan.notification.benchmark;
+
+import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+import com.doosan.notification.service.NotificationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// NotificationService.sendRestockNotification 전체 소요 시간 (H2, 구독자 1천/1만/10만 명)
+// 매 호출 전에 재고를 구독자 수만큼 채우고 알림 히스토리를 비워서 매번 같은 조건으로 전체 구독자에게 전송한다
+// executor 로 전송 실행기(플랫폼 스레드 풀 / 가상 스레드)를 비교한다 (virtual 은 Java 21 이상에서만 실행, Java 17 에서는 -p executor=platform)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RestockNotificationBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+
+    @Param({"1000", "10000", "100000"})
+    private int subscribers;
+
+    @Param({"platform", "virtual"})
+    private String executor; // notification.dispatch.executor
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("restock-" + subscribers + "-" + executor,
+                Map.of("notification.dispatch.executor", executor));
+        notificationService = context.getBean(NotificationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seedProduct(jdbcTemplate, PRODUCT_ID, subscribers, subscribers);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetRound() {
+        jdbcTemplate.update("UPDATE product_stock SET stock_quantity = ? WHERE product_id = ?", subscribers, PRODUCT_ID);
+        jdbcTemplate.execute("TRUNCATE TABLE product_user_notification_history");
+    }
+
+    @Benchmark
+    public ProductNotificationHistoryDTO sendRestockNotification() {
+        return notificationService.sendRestockNotification(PRODUCT_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,47 @@
+package com.doosan.notification.benchmark;
+
+import com.doosan.notification.repository.ProductStockRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// 재고 차감 경로 처리량 (조건부 UPDATE 한 문장, 같은 상품 행에 스레드 1/8개가 동시에 차감)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockDecrementBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private ProductStockRepository productStockRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("stock-decrement");
+        productStockRepository = context.getBean(ProductStockRepository.class);
+        BenchmarkApplication.seedProduct(context.getBean(JdbcTemplate.class), PRODUCT_ID, Integer.MAX_VALUE, 0); // 측정 중 소진되지 않도록
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int reserveStock1Thread() {
+        return productStockRepository.reserveStock(PRODUCT_ID, 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int reserveStock8Threads() {
+        return productStockRepository.reserveStock(PRODUCT_ID, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.doosan.notification.config;
+
+import com.doosan.notification.util.BoundedExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 알림 전송에 사용하는 스레드 풀 설정
+// notification.dispatch.executor=platform (기본) : 고정 크기 플랫폼 스레드 풀
+// notification.dispatch.executor=virtual         : 작업마다 가상 스레드 (Java 21 이상에서 실행할 때만 사용 가능)
+// 어느 모드든 동시에 실행되는 JDBC 작업 수는 Hikari 커넥션 풀 크기로 제한한다
+@Slf4j
+@Configuration
+public class NotificationExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService notificationWorkerExecutor(@Value("${notification.dispatch.executor:platform}") String mode,
+                                                      @Value("${notification.dispatch.pool-size:50}") int poolSize) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            log.info("알림 전송 실행기: 가상 스레드");
+            return newVirtualThreadPerTaskExecutor();
+        }
+        log.info("알림 전송 실행기: 플랫폼 스레드 {}개", poolSize);
+        return Executors.newFixedThreadPool(poolSize);
+    }
+
+    // 알림 전송 작업을 실행하는 Executor (동시 실행 수 제한)
+    @Bean
+    public BoundedExecutor notificationDispatchExecutor(@Qualifier("notificationWorkerExecutor") ExecutorService notificationWorkerExecutor,
+                                                        @Value("${notification.dispatch.max-in-flight:0}") int maxInFlight,
+                                                        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        int limit = maxInFlight > 0 ? maxInFlight : connectionPoolSize; // 미설정 시 커넥션 풀 크기
+        log.info("알림 전송 동시 실행 한도: {}", limit);
+        return new BoundedExecutor(notificationWorkerExecutor, limit);
+    }
+
+    // 전송 결과 처리(히스토리, 데드레터, 재고 반환, 체크포인트 저장)를 실행하는 Executor
+    // 전송을 끝낸 스레드(디스패처 워커, 전송 채널 콜백)에서 DB 작업을 하지 않도록 넘겨받아, 동시에 실행되는 결과 처리도 커넥션 풀 크기로 제한한다
+    // 결과 처리는 디스패처 워커에서 제출되므로 notificationDispatchExecutor 와 한도를 나눠 쓰면 워커가 자기 자리를 기다리며 멈출 수 있어 따로 둔다
+    @Bean
+    public Executor notificationResultExecutor(@Value("${notification.dispatch.executor:platform}") String mode,
+                                               @Value("${notification.dispatch.max-in-flight:0}") int maxInFlight,
+                                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        int limit = maxInFlight > 0 ? maxInFlight : connectionPoolSize; // 미설정 시 커넥션 풀 크기
+        if ("virtual".equalsIgnoreCase(mode)) {
+            return new BoundedExecutor(newVirtualThreadPerTaskExecutor(), limit);
+        }
+        return Executors.newFixedThreadPool(limit); // 제출하는 워커를 막지 않고 큐에 쌓아 두고 limit 개씩 처리
+    }
+
+    // 비동기 재입고 알림 작업을 실행하는 스레드 풀 (작업 하나가 상품 하나의 전송 전체를 담당)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService restockJobExecutor(@Value("${notification.restock.job-threads:4}") int restockJobThreads) {
+        return Executors.newFixedThreadPool(restockJobThreads);
+    }
+
+    // Java 17 로 빌드해도 컴파일되도록 리플렉션으로 호출 (Java 21 이상 런타임에서만 존재)
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 실행기는 Java 21 이상에서만 사용할 수 있습니다. 현재 버전: "
+                    + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.doosan.notification.config;
+
+import com.doosan.notification.service.NotificationDispatcher;
+import com.doosan.notification.util.BoundedExecutor;
+import com.doosan.notification.util.ClusterRateLimiter;
+import com.doosan.notification.util.NotificationRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 속도 제한기/디스패처 상태 지표 등록
+// 각 컴포넌트가 가진 카운터와 현재 값을 스크레이프 시점에 읽어가므로 전송 경로에는 지표 기록 비용이 없다
+@Configuration
+public class NotificationMetricsConfig {
+
+    @Bean
+    public MeterBinder notificationRateLimiterMetrics(NotificationRateLimiter rateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("notification.rate.limiter.permits", rateLimiter, NotificationRateLimiter::getGrantedPermits)
+                    .description("속도 제한기 토큰 수")
+                    .tag("result", "granted")
+                    .register(registry);
+            FunctionCounter.builder("notification.rate.limiter.permits", rateLimiter, NotificationRateLimiter::getDeniedPermits)
+                    .description("속도 제한기 토큰 수")
+                    .tag("result", "denied")
+                    .register(registry);
+            Gauge.builder("notification.rate.limiter.available", rateLimiter, NotificationRateLimiter::availablePermits)
+                    .description("즉시 사용 가능한 토큰 수")
+                    .register(registry);
+            if (rateLimiter instanceof ClusterRateLimiter clusterRateLimiter) {
+                Gauge.builder("notification.rate.limiter.cluster.fallback", clusterRateLimiter, limiter -> limiter.isFallbackActive() ? 1 : 0)
+                        .description("클러스터 속도 제한 저장소 장애로 로컬 속도 제한기를 쓰는 중이면 1")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder notificationDispatchMetrics(NotificationDispatcher notificationDispatcher,
+                                                   @Qualifier("notificationDispatchExecutor") BoundedExecutor notificationDispatchExecutor) {
+        return registry -> {
+            Gauge.builder("notification.dispatch.queue.size", notificationDispatcher, NotificationDispatcher::getPendingCount)
+                    .description("토큰을 기다리는 전송 작업(묶음) 수")
+                    .register(registry);
+            Gauge.builder("notification.dispatch.pending.sends", notificationDispatcher, NotificationDispatcher::getPendingPermits)
+                    .description("토큰을 기다리는 메시지 수 (입장 제어 기준)")
+                    .register(registry);
+            Gauge.builder("notification.dispatch.drain.rate", notificationDispatcher, NotificationDispatcher::getDrainRate)
+                    .description("최근 워커에 넘긴 초당 메시지 수")
+                    .register(registry);
+            Gauge.builder("notification.dispatch.lanes", notificationDispatcher, NotificationDispatcher::getActiveLaneCount)
+                    .description("전송 대기 작업이 있는 레인(재입고 작업) 수")
+                    .register(registry);
+            Gauge.builder("notification.dispatch.active", notificationDispatchExecutor, BoundedExecutor::getInFlightCount)
+                    .description("실행 중인 전송 작업 수")
+                    .register(registry);
+            Gauge.builder("notification.dispatch.max.in.flight", notificationDispatchExecutor, BoundedExecutor::getMaxInFlight)
+                    .description("동시에 실행 가능한 전송 작업 수")
+                    .register(registry);
+        };
+    }
+}
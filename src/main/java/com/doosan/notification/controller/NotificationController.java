@@ -1,10 +1,19 @@
 package com.doosan.notification.controller;
 
+import com.doosan.notification.dto.DeadLetterReplayResultDTO;
 import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+import com.doosan.notification.dto.RestockBatchRequestDTO;
+import com.doosan.notification.dto.RestockBatchResultDTO;
+import com.doosan.notification.service.DispatchAdmission;
+import com.doosan.notification.service.IdempotencyService;
 import com.doosan.notification.service.NotificationService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
 
 @Slf4j
 @RestController
@@ -12,24 +21,90 @@ import org.springframework.web.bind.annotation.*;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final IdempotencyService idempotencyService;
+    private final DispatchAdmission dispatchAdmission;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, IdempotencyService idempotencyService,
+                                  DispatchAdmission dispatchAdmission) {
         this.notificationService = notificationService;
+        this.idempotencyService = idempotencyService;
+        this.dispatchAdmission = dispatchAdmission;
     }
 
     // 재입고 알림 전송 API
+    // async=true 이면 작업만 등록하고 202 Accepted 와 알림 기록 ID를 바로 반환 (진행 상황은 조회 API로 확인)
+    // Idempotency-Key 헤더를 주면 같은 키로 재시도한 요청은 새 회차를 만들지 않고 처음 응답을 그대로 받는다
+    // 전송 대기열이 한도를 넘으면 429 와 Retry-After 를 반환한다 (재입고 요청 API 공통)
     @PostMapping("/{productId}/notifications/re-stock")
-    public ResponseEntity<ProductNotificationHistoryDTO> sendRestockNotification(@PathVariable Long productId) {
-        log.info("Processing restock notification for productId: {}", productId);
-        ProductNotificationHistoryDTO result = notificationService.sendRestockNotification(productId);
+    public ResponseEntity<ProductNotificationHistoryDTO> sendRestockNotification(@PathVariable Long productId,
+                                                                                 @RequestParam(defaultValue = "false") boolean async,
+                                                                                 @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                                 HttpServletRequest request) {
+        log.info("Processing restock notification for productId: {}, async: {}", productId, async);
+        return idempotencyService.execute(idempotencyKey, fingerprint(request), ProductNotificationHistoryDTO.class,
+                () -> restock(productId, async));
+    }
+
+    // 동기 요청이 이미 진행 중인 회차에 합류했는데 대기 시간 안에 끝나지 않으면 비동기 요청처럼 202 와 진행 상황 조회 위치를 반환
+    private ResponseEntity<ProductNotificationHistoryDTO> restock(Long productId, boolean async) {
+        dispatchAdmission.admit();
+        ProductNotificationHistoryDTO result = async
+                ? notificationService.startRestockNotification(productId)
+                : notificationService.sendRestockNotification(productId);
+        if (async || "IN_PROGRESS".equals(result.getNotificationStatus())) {
+            URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/{historyId}")
+                    .replaceQuery(null)
+                    .buildAndExpand(result.getId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(result);
+        }
         return ResponseEntity.ok(result);
     }
 
-    // 수동 재입고 알림 전송 API
+    // 여러 상품 재입고 알림 전송 API (입고된 상품을 한 요청으로 등록)
+    // 작업만 등록하고 202 Accepted 와 상품별 알림 기록을 반환 (진행 상황은 상품별 조회 API로 확인)
+    // 입장 제어는 상품 수만큼의 회차로 판단한다
+    @PostMapping("/notifications/re-stock:batch")
+    public ResponseEntity<RestockBatchResultDTO> sendRestockNotifications(@RequestBody RestockBatchRequestDTO request) {
+        int productCount = request.getProductIds() == null ? 0 : request.getProductIds().size();
+        log.info("Processing batch restock notification for {} products", productCount);
+        dispatchAdmission.admit(productCount);
+        return ResponseEntity.accepted().body(notificationService.startRestockNotifications(request.getProductIds()));
+    }
+
+    // 재입고 알림 진행 상황 조회 API
+    @GetMapping("/{productId}/notifications/re-stock/{historyId}")
+    public ResponseEntity<ProductNotificationHistoryDTO> getRestockNotification(@PathVariable Long productId,
+                                                                                @PathVariable Long historyId) {
+        return ResponseEntity.ok(notificationService.getRestockNotification(productId, historyId));
+    }
+
+    // 수동 재입고 알림 전송 API (Idempotency-Key 헤더를 주면 같은 키로 재시도한 요청은 다시 전송하지 않음)
     @PostMapping("/admin/{productId}/notifications/re-stock")
-    public ResponseEntity<Void> sendRestockNotificationManually(@PathVariable Long productId) {
+    public ResponseEntity<Void> sendRestockNotificationManually(@PathVariable Long productId,
+                                                                @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                HttpServletRequest request) {
         log.info("Manually processing restock notification for productId: {}", productId);
-        notificationService.sendRestockNotificationManually(productId);
-        return ResponseEntity.ok().build();
+        return idempotencyService.execute(idempotencyKey, fingerprint(request), Void.class, () -> {
+            dispatchAdmission.admit();
+            notificationService.sendRestockNotificationManually(productId);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // 데드레터 재전송 API (재시도를 모두 실패한 사용자에게 다시 전송)
+    // productId 를 주면 해당 상품만, 없으면 전체에서 오래된 순으로 최대 limit 건
+    @PostMapping("/admin/notifications/dead-letters:replay")
+    public ResponseEntity<DeadLetterReplayResultDTO> replayDeadLetters(@RequestParam(required = false) Long productId,
+                                                                       @RequestParam(defaultValue = "1000") int limit) {
+        log.info("Replaying dead letters for productId: {}, limit: {}", productId, limit);
+        return ResponseEntity.ok(notificationService.replayDeadLetters(productId, limit));
+    }
+
+    // Idempotency-Key 를 다른 요청에 다시 쓰지 않았는지 확인하는 요청 식별 값
+    private static String fingerprint(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getMethod() + " " + request.getRequestURI() + (query == null ? "" : "?" + query);
     }
 }
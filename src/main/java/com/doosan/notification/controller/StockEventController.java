@@ -0,0 +1,28 @@
+package com.doosan.notification.controller;
+
+import com.doosan.notification.dto.StockEventRequestDTO;
+import com.doosan.notification.dto.StockEventResultDTO;
+import com.doosan.notification.service.StockEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/products")
+public class StockEventController {
+
+    private final StockEventService stockEventService;
+
+    public StockEventController(StockEventService stockEventService) {
+        this.stockEventService = stockEventService;
+    }
+
+    // 입고 이벤트 API (창고 시스템이 입고 수량을 보내면 재고를 늘리고, 재고가 0에서 늘어난 상품은 재입고 알림을 자동으로 시작)
+    // 같은 상품에 짧은 시간 동안 들어온 이벤트는 하나의 재입고 알림 회차로 묶는다
+    @PostMapping("/stock-events")
+    public ResponseEntity<StockEventResultDTO> applyStockEvents(@RequestBody StockEventRequestDTO request) {
+        log.info("Processing {} stock events", request.getEvents() == null ? 0 : request.getEvents().size());
+        return ResponseEntity.accepted().body(stockEventService.applyStockEvents(request.getEvents()));
+    }
+}
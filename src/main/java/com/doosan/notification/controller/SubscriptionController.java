@@ -0,0 +1,50 @@
+package com.doosan.notification.controller;
+
+import com.doosan.notification.dto.SubscriptionRequestDTO;
+import com.doosan.notification.dto.SubscriptionResultDTO;
+import com.doosan.notification.service.SubscriptionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/products")
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    public SubscriptionController(SubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    // 재입고 알림 구독 API (같은 사용자가 여러 번 요청해도 구독은 하나)
+    @PostMapping("/{productId}/subscriptions")
+    public ResponseEntity<SubscriptionResultDTO> subscribe(@PathVariable Long productId,
+                                                           @RequestBody SubscriptionRequestDTO request) {
+        return ResponseEntity.ok(subscriptionService.subscribe(productId, request.getUserId()));
+    }
+
+    // 재입고 알림 구독 해제 API
+    @DeleteMapping("/{productId}/subscriptions/{userId}")
+    public ResponseEntity<SubscriptionResultDTO> unsubscribe(@PathVariable Long productId,
+                                                             @PathVariable Long userId) {
+        return ResponseEntity.ok(subscriptionService.unsubscribe(productId, userId));
+    }
+
+    // 재입고 알림 대량 구독 API (userIds 를 한 트랜잭션에서 배치로 저장)
+    @PostMapping("/{productId}/subscriptions/bulk")
+    public ResponseEntity<SubscriptionResultDTO> subscribeAll(@PathVariable Long productId,
+                                                              @RequestBody SubscriptionRequestDTO request) {
+        log.info("Processing bulk subscribe for productId: {}", productId);
+        return ResponseEntity.ok(subscriptionService.subscribeAll(productId, request.getUserIds()));
+    }
+
+    // 재입고 알림 대량 구독 해제 API
+    @DeleteMapping("/{productId}/subscriptions/bulk")
+    public ResponseEntity<SubscriptionResultDTO> unsubscribeAll(@PathVariable Long productId,
+                                                                @RequestBody SubscriptionRequestDTO request) {
+        log.info("Processing bulk unsubscribe for productId: {}", productId);
+        return ResponseEntity.ok(subscriptionService.unsubscribeAll(productId, request.getUserIds()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 데드레터 재전송 결과
+@Getter
+@Setter
+public class DeadLetterReplayResultDTO {
+    private int requested; // 재전송한 데드레터 수
+    private int replayed;  // 전송에 성공한 수
+    private int failed;    // 다시 실패하여 대기 상태로 남은 수
+}
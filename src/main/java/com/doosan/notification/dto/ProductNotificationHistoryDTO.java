@@ -12,4 +12,6 @@ public class ProductNotificationHistoryDTO {
     private int restockRound;
     private String notificationStatus;
     private Long lastNotifiedUserId;
+    private long sentCount; // 지금까지 알림을 보낸 사용자 수
+    private long failedCount; // 재시도까지 실패해 데드레터로 남은 사용자 수
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// 여러 상품 재입고 알림 요청
+@Getter
+@Setter
+public class RestockBatchRequestDTO {
+    private List<Long> productIds;
+}
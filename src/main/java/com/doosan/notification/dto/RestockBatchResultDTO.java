@@ -0,0 +1,17 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 여러 상품 재입고 알림 요청 결과
+@Getter
+@Setter
+public class RestockBatchResultDTO {
+    private List<ProductNotificationHistoryDTO> accepted = new ArrayList<>(); // 알림 작업이 등록된 상품의 알림 기록
+    private List<ProductNotificationHistoryDTO> inFlight = new ArrayList<>(); // 이미 진행 중인 회차가 있어 새 회차를 만들지 않은 상품의 알림 기록
+    private List<Long> notFoundProductIds = new ArrayList<>();     // 상품 또는 재고 정보가 없는 상품
+    private List<Long> noActiveUserProductIds = new ArrayList<>(); // 활성화된 구독자가 없는 상품
+}
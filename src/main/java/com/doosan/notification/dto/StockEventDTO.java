@@ -0,0 +1,12 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 입고 이벤트 (상품에 들어온 수량)
+@Getter
+@Setter
+public class StockEventDTO {
+    private Long productId;
+    private Integer quantity; // 입고 수량 (1 이상)
+}
@@ -0,0 +1,13 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// 입고 이벤트 요청 (여러 상품, 같은 상품의 여러 이벤트를 한 번에 보낼 수 있음)
+@Getter
+@Setter
+public class StockEventRequestDTO {
+    private List<StockEventDTO> events;
+}
@@ -0,0 +1,17 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 입고 이벤트 처리 결과
+@Getter
+@Setter
+public class StockEventResultDTO {
+    private int eventCount;                                    // 받은 이벤트 수
+    private List<Long> updatedProductIds = new ArrayList<>();  // 재고를 늘린 상품
+    private List<Long> notFoundProductIds = new ArrayList<>(); // 재고 정보가 없어 반영하지 않은 상품
+    private List<Long> restockProductIds = new ArrayList<>();  // 재고가 0에서 늘어나 재입고 알림을 예약한 상품
+}
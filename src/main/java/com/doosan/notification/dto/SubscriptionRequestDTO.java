@@ -0,0 +1,14 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// 구독 추가/해제 요청 (단건: userId, 대량: userIds)
+@Getter
+@Setter
+public class SubscriptionRequestDTO {
+    private Long userId;
+    private List<Long> userIds;
+}
@@ -0,0 +1,12 @@
+package com.doosan.notification.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SubscriptionResultDTO {
+    private Long productId;
+    private boolean active;  // 요청 후 구독 상태 (true: 구독, false: 해제)
+    private int userCount;   // 처리한 사용자 수 (중복 제외)
+}
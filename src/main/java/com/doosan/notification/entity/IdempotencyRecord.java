@@ -0,0 +1,38 @@
+package com.doosan.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Idempotency-Key 로 처리한 요청의 응답 (IdempotencyRecordRepository 가 JDBC 로 갱신)
+// 같은 키로 다시 들어온 요청은 다시 실행하지 않고 저장된 응답을 그대로 돌려준다
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "idempotency_record",
+        indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")) // 만료된 기록 삭제용
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey; // 클라이언트가 보낸 Idempotency-Key
+
+    @Column(name = "fingerprint", nullable = false, length = 512)
+    private String fingerprint; // 키를 처음 사용한 요청 (메서드, 경로, 쿼리)
+
+    @Column(name = "status_code")
+    private Integer statusCode; // 응답 상태 코드 (처리 중이면 null)
+
+    @Column(name = "location", length = 512)
+    private String location; // 응답 Location 헤더
+
+    @Column(name = "response_body", length = 4000)
+    private String responseBody; // 응답 본문 (JSON)
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 처리 중이면 처리 권한 만료 시각, 완료되면 기록 만료 시각
+}
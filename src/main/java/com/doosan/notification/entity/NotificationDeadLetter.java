@@ -0,0 +1,66 @@
+package com.doosan.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// 재시도를 모두 실패한 사용자별 알림 (데드레터)
+// 관리자 재전송 API 로 다시 보내고, 성공하면 REPLAYED 로 바뀐다
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_dead_letter",
+        indexes = {
+                @Index(name = "idx_notification_dead_letter_status", columnList = "status, id"), // 재전송 대상 조회용
+                @Index(name = "idx_notification_dead_letter_history", columnList = "notification_history_id, status")
+        })
+public class NotificationDeadLetter {
+
+    public static final String PENDING = "PENDING";   // 재전송 대기
+    public static final String REPLAYED = "REPLAYED"; // 재전송 성공
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId; // 상품 ID
+
+    @Column(name = "notification_history_id", nullable = false)
+    private Long notificationHistoryId; // 재입고 알림 기록 ID
+
+    @Column(name = "restock_round", nullable = false)
+    private int restockRound; // 재입고 회차
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // 유저 아이디
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // 데드레터 상태
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts; // 지금까지 전송 시도 횟수
+
+    @Column(name = "last_error", length = 500)
+    private String lastError; // 마지막 실패 원인
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt; // 생성시간
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // 업데이트시간
+
+    // 전송 실패 기록 (원인은 컬럼 길이에 맞춰 자름)
+    public void recordFailure(int attempts, String error) {
+        this.attempts += attempts;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
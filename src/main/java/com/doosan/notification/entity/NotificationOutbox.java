@@ -0,0 +1,70 @@
+package com.doosan.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// 재입고 알림 전송 작업 아웃박스
+// 재입고 회차 증가와 같은 트랜잭션에서 한 건씩 기록되고, 백그라운드 릴레이가 꺼내서 전송을 실행한다
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_status", columnList = "status, lease_expires_at"))
+public class NotificationOutbox {
+
+    public static final String PENDING = "PENDING";       // 실행 대기
+    public static final String PROCESSING = "PROCESSING"; // 노드가 가져가서 실행 중 (lease 만료 시 다른 노드가 이어서 실행)
+    public static final String DONE = "DONE";             // 전송 완료
+    public static final String FAILED = "FAILED";         // 에러로 중단
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId; // 상품 ID
+
+    @Column(name = "notification_history_id", nullable = false)
+    private Long notificationHistoryId; // 재입고 알림 기록 ID
+
+    @Column(name = "restock_round", nullable = false)
+    private int restockRound; // 재입고 회차
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // 작업 상태
+
+    @Column(name = "owner", length = 100)
+    private String owner; // 실행 중인 노드 ID
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt; // 실행 권한 만료 시각
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts; // 실행 시도 횟수
+
+    @Column(name = "remaining_sends", nullable = false)
+    private long remainingSends; // 아직 디스패처에 넣지 않은 계획 전송 수 (min(재고, 구독자 수)로 시작해 청크마다 차감, 입장 제어용)
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt; // 생성시간
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // 업데이트시간
+
+    // owner 노드가 leaseExpiresAt 까지 실행 권한을 가짐
+    public void claim(String owner, LocalDateTime leaseExpiresAt) {
+        this.status = PROCESSING;
+        this.owner = owner;
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.attempts++;
+    }
+}
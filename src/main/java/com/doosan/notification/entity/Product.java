@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
@@ -23,6 +24,11 @@ public class Product {
     @Column(name = "stock_status", nullable = false)
     private StockStatus stockStatus; // 재고 상태
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version; // 낙관적 락 버전 (재입고 회차 증가 시 함께 증가)
+
     public enum StockStatus {
         IN_STOCK,
         OUT_OF_STOCK
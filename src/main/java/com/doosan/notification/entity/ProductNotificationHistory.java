@@ -32,6 +32,12 @@ public class ProductNotificationHistory {
     @Column(name = "last_notified_user_id")
     private Long lastNotifiedUserId; // 마지막으로 알림을 받은 유저 ID
 
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount; // 전송에 성공한 사용자 수 (flush 주기마다 저장)
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount; // 재시도까지 실패해 데드레터로 남은 사용자 수
+
     /*
     @Column(name = "created_at", nullable = false, updatable = false)
     @Temporal(TemporalType.TIMESTAMP)
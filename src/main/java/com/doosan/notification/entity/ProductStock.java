@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -24,6 +25,11 @@ public class ProductStock {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt; // 업데이트 시간
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version; // 낙관적 락 버전 (조건부 차감/반환 UPDATE 에서도 증가)
+
     // 생성자
     public ProductStock(Long productId, Integer stockQuantity) {
         this.productId = productId;
@@ -1,5 +1,6 @@
 package com.doosan.notification.entity;
 
+import com.doosan.notification.service.SubscriberIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,7 +15,10 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "product_user_notification") // 테이블 이름 명시적으로 지정
+@EntityListeners(SubscriberIndexEntityListener.class) // 구독 변경을 구독자 캐시에 반영
+@Table(name = "product_user_notification", // 테이블 이름 명시적으로 지정
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_user_notification_product_user",
+                columnNames = {"product_id", "user_id"})) // 상품별 사용자 구독은 하나 (구독 upsert 키, 키셋 페이지네이션 인덱스)
 public class ProductUserNotification {
 
     @Id
@@ -13,9 +13,12 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "product_user_notification_history")
+@Table(name = "product_user_notification_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_user_notification_history_product_round_user",
+                columnNames = {"product_id", "restock_round", "user_id"})) // 회차마다 사용자당 한 번만 기록 (회차별 조회 인덱스 겸용)
 public class ProductUserNotificationHistory {
 
+    // 배치 저장은 ProductUserNotificationHistoryBatchRepository 가 키를 받아오지 않는 JDBC 배치로 하므로 IDENTITY 로도 묶어서 전송된다
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
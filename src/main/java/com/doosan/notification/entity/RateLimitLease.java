@@ -0,0 +1,26 @@
+package com.doosan.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 여러 인스턴스가 나눠 쓰는 속도 제한 토큰 임대 현황 (limiter 이름마다 한 행)
+// window_start 초에 지금까지 임대해 간 토큰 수를 granted 에 기록한다 (RateLimitLeaseRepository 가 JDBC 로 갱신)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "rate_limit_lease")
+public class RateLimitLease {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name; // 속도 제한기 이름
+
+    @Column(name = "window_start", nullable = false)
+    private long windowStart; // 현재 윈도 시작 (epoch 초)
+
+    @Column(name = "granted", nullable = false)
+    private int granted; // 윈도에서 임대한 토큰 수
+}
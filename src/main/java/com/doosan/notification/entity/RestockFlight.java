@@ -0,0 +1,31 @@
+package com.doosan.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 상품별로 진행 중인 재입고 알림 회차 (상품마다 최대 한 행, RestockFlightRepository 가 JDBC 로 갱신)
+// 먼저 행을 만든 요청이 회차를 준비하고, 같은 상품의 다른 요청은 이 행의 회차를 그대로 받는다
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "restock_flight")
+public class RestockFlight {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId; // 상품 ID
+
+    @Column(name = "token", nullable = false, length = 64)
+    private String token; // 회차를 준비하는 요청 식별자
+
+    @Column(name = "notification_history_id")
+    private Long notificationHistoryId; // 준비가 끝난 회차의 알림 기록 ID (준비 중이면 null)
+
+    @Column(name = "lease_expires_at", nullable = false)
+    private LocalDateTime leaseExpiresAt; // 준비 권한 만료 시각 (준비 중에 노드가 내려가면 다른 요청이 이어받음)
+}
@@ -0,0 +1,16 @@
+package com.doosan.notification.exception;
+
+// 전송 대기열이 한도를 넘어 새 재입고 요청을 받을 수 없는 경우 (429 Too Many Requests, Retry-After)
+public class DispatchSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public DispatchSaturatedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,6 +1,9 @@
 package com.doosan.notification.exception;
 
+import com.doosan.notification.dto.ProductNotificationHistoryDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -62,6 +65,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    // IllegalArgumentException: 요청 값이 허용 범위를 벗어난 경우 처리 (예: 대량 구독 요청 크기 초과)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.error("BAD_REQUEST: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "입력값이 올바르지 않습니다.");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     // MethodArgumentNotValidException: 입력값 검증 실패 처리
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
@@ -86,6 +97,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    // ConcurrencyFailureException: 다른 요청이 먼저 같은 데이터를 변경하여 재시도 후에도 처리하지 못한 경우 (낙관적 락 충돌 포함)
+    // 또는 같은 상품의 다른 재입고 요청이 준비를 끝내지 못한 경우, 같은 Idempotency-Key 의 요청이 아직 처리 중인 경우
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.error("CONFLICT: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), "다른 요청과 충돌하여 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    // DispatchSaturatedException: 전송 대기열이 한도를 넘어 새 재입고 요청을 받을 수 없는 경우 (Retry-After 초 후 다시 시도)
+    @ExceptionHandler(DispatchSaturatedException.class)
+    public ResponseEntity<ErrorResponse> handleDispatchSaturated(DispatchSaturatedException ex) {
+        log.warn("TOO_MANY_REQUESTS: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "알림 전송 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    // RestockRoundFailedException: 재입고 회차를 만든 뒤 전송 중에 실패한 경우 (중단된 회차의 알림 기록을 반환해 진행 상황을 이어서 확인)
+    @ExceptionHandler(RestockRoundFailedException.class)
+    public ResponseEntity<ProductNotificationHistoryDTO> handleRestockRoundFailed(RestockRoundFailedException ex) {
+        log.error("INTERNAL_SERVER_ERROR: {}", ex.getMessage(), ex.getCause());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getNotificationHistory());
+    }
+
     // NoSuchElementException: 요청한 요소를 찾을 수 없는 경우 처리
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ErrorResponse> handleNoSuchElementException(NoSuchElementException ex) {
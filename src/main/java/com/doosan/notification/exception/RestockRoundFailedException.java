@@ -0,0 +1,19 @@
+package com.doosan.notification.exception;
+
+import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+
+// 재입고 회차를 만든 뒤 전송 중에 실패한 경우 (500, 중단된 회차의 알림 기록을 본문으로 반환)
+// 회차가 이미 있으므로 Idempotency-Key 를 반환하지 않고 이 응답을 저장해, 같은 키의 재시도는 새 회차 대신 이 회차를 받는다
+public class RestockRoundFailedException extends RuntimeException {
+
+    private final ProductNotificationHistoryDTO notificationHistory;
+
+    public RestockRoundFailedException(ProductNotificationHistoryDTO notificationHistory, Throwable cause) {
+        super("재입고 알림 전송 중 에러로 회차가 중단되었습니다 - historyId: " + notificationHistory.getId(), cause);
+        this.notificationHistory = notificationHistory;
+    }
+
+    public ProductNotificationHistoryDTO getNotificationHistory() {
+        return notificationHistory;
+    }
+}
@@ -0,0 +1,62 @@
+package com.doosan.notification.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Idempotency-Key 응답 기록 (idempotency_record)
+// 키 선점은 INSERT/조건부 UPDATE 한 문장이라 같은 키로 동시에 들어온 요청 중 하나만 실행된다
+@Repository
+public class IdempotencyRecordRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyRecordRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 키 선점 (행이 없거나, 만료된 행이면 가져옴)
+    public boolean tryBegin(String key, String fingerprint, LocalDateTime now, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_record (idempotency_key, fingerprint, expires_at) VALUES (?, ?, ?)",
+                    key, fingerprint, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update("UPDATE idempotency_record SET fingerprint = ?, status_code = NULL, location = NULL, " +
+                    "response_body = NULL, expires_at = ? WHERE idempotency_key = ? AND expires_at < ?",
+                    fingerprint, expiresAt, key, now) > 0;
+        }
+    }
+
+    // 저장된 기록 (없으면 null)
+    public Record find(String key) {
+        List<Record> records = jdbcTemplate.query(
+                "SELECT fingerprint, status_code, location, response_body FROM idempotency_record WHERE idempotency_key = ?",
+                (rs, rowNum) -> new Record(rs.getString(1), rs.getObject(2, Integer.class), rs.getString(3), rs.getString(4)),
+                key);
+        return records.isEmpty() ? null : records.get(0);
+    }
+
+    // 처리가 끝난 요청의 응답 저장
+    public void complete(String key, int statusCode, String location, String responseBody, LocalDateTime expiresAt) {
+        jdbcTemplate.update("UPDATE idempotency_record SET status_code = ?, location = ?, response_body = ?, expires_at = ? " +
+                "WHERE idempotency_key = ?", statusCode, location, responseBody, expiresAt, key);
+    }
+
+    // 처리에 실패한 요청의 키 반환 (같은 키로 다시 실행할 수 있도록)
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_record WHERE idempotency_key = ? AND status_code IS NULL", key);
+    }
+
+    // 만료된 기록 삭제, 삭제한 행 수 반환
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_record WHERE expires_at < ?", now);
+    }
+
+    // 저장된 기록 (처리 중이면 statusCode 가 null)
+    public record Record(String fingerprint, Integer statusCode, String location, String responseBody) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.doosan.notification.repository;
+
+import com.doosan.notification.entity.NotificationDeadLetter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 데드레터(재시도를 모두 실패한 알림) 데이터 관리용 리포지토리
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+
+    // 상태별 데드레터 (id 순)
+    List<NotificationDeadLetter> findByStatusOrderById(String status, Pageable pageable);
+
+    // 상품의 상태별 데드레터 (id 순)
+    List<NotificationDeadLetter> findByProductIdAndStatusOrderById(Long productId, String status, Pageable pageable);
+
+    boolean existsByNotificationHistoryIdAndStatus(Long notificationHistoryId, String status);
+}
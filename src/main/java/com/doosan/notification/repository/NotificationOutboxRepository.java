@@ -0,0 +1,49 @@
+package com.doosan.notification.repository;
+
+import com.doosan.notification.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // 실행 가능한 작업(대기 중이거나 lease 가 만료된 작업)을 잠그고 가져옴
+    // SKIP LOCKED 로 다른 노드가 잠근 행은 건너뛰므로 여러 인스턴스가 동시에 가져가도 같은 작업을 중복 실행하지 않는다
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE status = 'PENDING' OR (status = 'PROCESSING' AND lease_expires_at < :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> findClaimableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 아직 끝나지 않은 회차 수 (대기 중이거나 실행 중인 작업)
+    @Query("SELECT COUNT(o) FROM NotificationOutbox o WHERE o.status IN ('PENDING', 'PROCESSING')")
+    long countOpenRounds();
+
+    // 아직 끝나지 않은 회차들이 디스패처에 넣지 않은 계획 전송 수 합
+    // 회차마다 준비할 때 min(재고, 구독자 수)를 기록하고 청크를 넣을 때마다 차감하므로, 재고가 구독자보다 훨씬 많아도 구독자 수만큼만 센다
+    @Query("SELECT COALESCE(SUM(o.remainingSends), 0) FROM NotificationOutbox o WHERE o.status IN ('PENDING', 'PROCESSING')")
+    long sumRemainingSendsOfOpenRounds();
+
+    // 실행 중인 작업의 lease 연장 (다른 노드가 가져가지 않도록) 과 디스패처에 넣은 전송 수만큼 남은 계획 차감
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.leaseExpiresAt = :leaseExpiresAt, " +
+            "o.remainingSends = CASE WHEN o.remainingSends > :dispatched THEN o.remainingSends - :dispatched ELSE 0 END " +
+            "WHERE o.id = :id AND o.owner = :owner AND o.status = 'PROCESSING'")
+    int extendLease(@Param("id") Long id, @Param("owner") String owner, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                    @Param("dispatched") long dispatched);
+
+    // 작업 종료 상태 기록
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = :status, o.leaseExpiresAt = null, o.remainingSends = 0, " +
+            "o.updatedAt = LOCAL DATETIME " +
+            "WHERE o.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+}
@@ -2,7 +2,11 @@ package com.doosan.notification.repository;
 
 import com.doosan.notification.entity.ProductNotificationHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.doosan.notification.entity.Product;
 
@@ -14,5 +18,36 @@ public interface ProductNotificationHistoryRepository extends JpaRepository<Prod
     Optional<ProductNotificationHistory> findTopByProductOrderByRestockRoundDesc(Product product);
 
     ProductNotificationHistory findByProductId(Long id);
+
+    // 진행 상황 저장 - 체크포인트는 뒤로 돌아가지 않도록 더 큰 값일 때만 올리고 마지막 저장 이후 늘어난 성공/실패 수를 더한다 (회차당 flush 주기마다 한 번)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductNotificationHistory h SET " +
+            "h.lastNotifiedUserId = CASE WHEN h.lastNotifiedUserId IS NULL OR h.lastNotifiedUserId < :userId " +
+            "THEN :userId ELSE h.lastNotifiedUserId END, " +
+            "h.sentCount = h.sentCount + :sentDelta, h.failedCount = h.failedCount + :failedDelta " +
+            "WHERE h.id = :id")
+    int saveProgress(@Param("id") Long id, @Param("userId") Long userId,
+                     @Param("sentDelta") long sentDelta, @Param("failedDelta") long failedDelta);
+
+    // 데드레터 재전송에 성공한 사용자 수만큼 실패 수를 성공 수로 옮긴다
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductNotificationHistory h SET h.sentCount = h.sentCount + :count, " +
+            "h.failedCount = h.failedCount - :count WHERE h.id = :id")
+    int moveFailedToSent(@Param("id") Long id, @Param("count") long count);
+
+    // 알림 상태 변경
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductNotificationHistory h SET h.notificationStatus = :status WHERE h.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    // 현재 상태가 expected 일 때만 변경 (예: 데드레터를 모두 재전송한 회차 COMPLETED_WITH_ERRORS -> COMPLETED)
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductNotificationHistory h SET h.notificationStatus = :status " +
+            "WHERE h.id = :id AND h.notificationStatus = :expected")
+    int updateStatusIf(@Param("id") Long id, @Param("expected") String expected, @Param("status") String status);
 }
 
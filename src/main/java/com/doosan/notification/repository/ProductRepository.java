@@ -4,12 +4,17 @@ import com.doosan.notification.entity.Product;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 // 비관적 락을 사용하여 한 번에 하나의 트랜잭션만 특정 행을 업데이트하도록 제한
+// notification.restock.locking=optimistic 이면 락 없이 읽고 버전 조건부 UPDATE 로 회차를 증가
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     // 비관적 락(Pessimistic Lock) 사용
@@ -17,6 +22,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.id = :productId")
     Optional<Product> findByIdWithLock(Long productId);
 
+    // 여러 상품을 한 번에 잠금 (여러 요청이 같은 순서로 잠그도록 id 순)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :productIds ORDER BY p.id")
+    List<Product> findAllByIdInWithLock(@Param("productIds") Collection<Long> productIds);
+
+    // 낙관적 락: 읽은 버전 그대로일 때만 재입고 회차를 한 문장으로 1 증가 (증가되면 1, 다른 트랜잭션이 먼저 바꿨으면 0)
+    // 행 락은 이 문장부터 커밋까지만 잡힌다. 호출하는 쪽 트랜잭션 안에서 실행해야 함
+    // 벌크 UPDATE 후 영속성 컨텍스트의 Product 가 오래된 버전으로 다시 저장되지 않도록 컨텍스트를 비움
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.restockRound = p.restockRound + 1, p.version = p.version + 1 " +
+            "WHERE p.id = :productId AND p.version = :version")
+    int increaseRestockRoundIfVersion(@Param("productId") Long productId, @Param("version") Long version);
+
 
 
 
@@ -0,0 +1,64 @@
+package com.doosan.notification.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 재고(product_stock) 대량 변경용 JDBC 저장소
+// 입고 이벤트를 상품마다 엔티티로 조회 후 저장하지 않고, 잠금 조회 한 번과 JDBC 배치 UPDATE 로 처리한다
+// 호출하는 쪽의 트랜잭션 안에서 실행해야 한다
+@Repository
+public class ProductStockBatchRepository {
+
+    private static final String LOCK_SQL =
+            "SELECT product_id, stock_quantity FROM product_stock WHERE product_id IN (:productIds) " +
+            "ORDER BY product_id FOR UPDATE";
+
+    private static final String INCREASE_SQL =
+            "UPDATE product_stock SET stock_quantity = stock_quantity + ?, updated_at = NOW(), version = version + 1 " +
+            "WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int batchSize;
+
+    public ProductStockBatchRepository(JdbcTemplate jdbcTemplate,
+                                       NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                       @Value("${notification.stock-event.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // 상품 재고 행을 잠그고 현재 재고 수량 반환 (재고 정보가 없는 상품은 결과에 없음)
+    // 동시에 실행되는 요청끼리 락 순서가 엇갈리지 않도록 상품 id 순으로 잠근다
+    public Map<Long, Integer> lockStockQuantities(Collection<Long> productIds) {
+        List<Long> sortedIds = productIds.stream().sorted().toList();
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (int from = 0; from < sortedIds.size(); from += batchSize) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(sortedIds.size(), from + batchSize));
+            namedParameterJdbcTemplate.query(LOCK_SQL, new MapSqlParameterSource("productIds", chunk),
+                    rs -> {
+                        quantities.put(rs.getLong("product_id"), rs.getInt("stock_quantity"));
+                    });
+        }
+        return quantities;
+    }
+
+    // 상품별 재고 증가 (상품 id 순으로 batch-size 개씩 묶어 전송)
+    public void increaseAll(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> increases = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        jdbcTemplate.batchUpdate(INCREASE_SQL, increases, batchSize, (ps, increase) -> {
+            ps.setInt(1, increase.getValue());
+            ps.setLong(2, increase.getKey());
+        });
+    }
+}
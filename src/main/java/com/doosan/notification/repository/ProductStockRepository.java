@@ -4,10 +4,14 @@ import com.doosan.notification.entity.ProductStock;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,5 +26,46 @@ public interface ProductStockRepository extends JpaRepository<ProductStock, Long
 
     Optional<ProductStock> findByProductId(Long productId);
 
-}
+    // 여러 상품의 재고를 한 번에 잠금 (여러 요청이 같은 순서로 잠그도록 상품 id 순)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ps FROM ProductStock ps WHERE ps.productId IN :productIds ORDER BY ps.productId")
+    List<ProductStock> findAllByProductIdInForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    List<ProductStock> findAllByProductIdIn(Collection<Long> productIds);
+
+    @Query("SELECT ps.stockQuantity FROM ProductStock ps WHERE ps.productId = :productId")
+    Optional<Integer> findStockQuantityByProductId(@Param("productId") Long productId);
 
+    // 조건부 재고 차감: 재고가 quantity 이상일 때만 한 문장으로 차감 (여러 앱 노드에서도 원자적)
+    // 버전도 올려서 이전에 읽은 ProductStock 엔티티로 재고를 덮어쓰지 못하도록
+    // 차감되면 1, 재고가 부족하면 0 반환
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductStock ps SET ps.stockQuantity = ps.stockQuantity - :quantity, ps.updatedAt = LOCAL DATETIME, " +
+            "ps.version = ps.version + 1 " +
+            "WHERE ps.productId = :productId AND ps.stockQuantity >= :quantity")
+    int decreaseStockIfAvailable(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // 예약했지만 사용하지 않은 재고 반환
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductStock ps SET ps.stockQuantity = ps.stockQuantity + :quantity, ps.updatedAt = LOCAL DATETIME, " +
+            "ps.version = ps.version + 1 " +
+            "WHERE ps.productId = :productId")
+    int increaseStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // 재고 예약: 최대 requested 개를 차감하고 실제로 확보한 수량을 반환
+    // 재고가 requested 보다 적으면 남은 만큼만 확보하고, 재고가 없으면 0 반환
+    default int reserveStock(Long productId, int requested) {
+        int quantity = requested;
+        while (quantity > 0) {
+            if (decreaseStockIfAvailable(productId, quantity) > 0) {
+                return quantity;
+            }
+            // 다른 노드가 먼저 차감했을 수 있으므로 현재 재고를 다시 읽고 가능한 만큼만 재시도
+            int available = findStockQuantityByProductId(productId).orElse(0);
+            quantity = Math.min(quantity, available);
+        }
+        return 0;
+    }
+}
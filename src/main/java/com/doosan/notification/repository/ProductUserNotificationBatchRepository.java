@@ -0,0 +1,63 @@
+package com.doosan.notification.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 구독 정보(product_user_notification) 대량 저장용 JDBC 저장소
+// JPA 로 한 건씩 조회 후 저장하지 않고, (product_id, user_id) 유니크 키 기준 upsert 를 JDBC 배치로 전송한다
+// (MySQL 은 rewriteBatchedStatements=true 로 multi-row insert 로 묶여서 전송됨)
+// 호출하는 쪽의 트랜잭션 안에서 실행해야 한다
+@Repository
+public class ProductUserNotificationBatchRepository {
+
+    private static final String UPSERT_ACTIVE_SQL =
+            "INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, true, NOW(), NOW()) " +
+            "ON DUPLICATE KEY UPDATE updated_at = CASE WHEN is_active THEN updated_at ELSE NOW() END, is_active = true";
+
+    private static final String DEACTIVATE_SQL =
+            "UPDATE product_user_notification SET is_active = false, updated_at = NOW() " +
+            "WHERE product_id = :productId AND user_id IN (:userIds) AND is_active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int batchSize;
+
+    public ProductUserNotificationBatchRepository(JdbcTemplate jdbcTemplate,
+                                                  NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                                  @Value("${notification.subscription.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // 구독 추가/재활성화 (이미 활성 구독이면 변경 없음)
+    // 동시에 실행되는 배치끼리 락 순서가 엇갈리지 않도록 호출하는 쪽에서 (productId, userId) 순으로 정렬해서 넘긴다
+    public void upsertActive(List<Subscription> subscriptions) {
+        jdbcTemplate.batchUpdate(UPSERT_ACTIVE_SQL, subscriptions, batchSize, (ps, subscription) -> {
+            ps.setLong(1, subscription.productId());
+            ps.setLong(2, subscription.userId());
+        });
+    }
+
+    // 구독 해제 (비활성화), 실제로 비활성화된 구독 수 반환
+    // user_id 를 batch-size 개씩 IN 절로 묶어 한 문장으로 처리
+    public int deactivate(Long productId, List<Long> userIds) {
+        int updated = 0;
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + batchSize));
+            updated += namedParameterJdbcTemplate.update(DEACTIVATE_SQL, new MapSqlParameterSource()
+                    .addValue("productId", productId)
+                    .addValue("userIds", chunk));
+        }
+        return updated;
+    }
+
+    public record Subscription(long productId, long userId) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.doosan.notification.repository;
+
+import com.doosan.notification.entity.ProductUserNotificationHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// 사용자별 알림 히스토리(product_user_notification_history) 배치 저장용 JDBC 저장소
+// (product_id, restock_round, user_id) 유니크 키에 이미 있는 행은 건너뛰므로 (insert-ignore),
+// 체크포인트 저장 전에 중단된 회차를 이어서 보내거나 같은 사용자에게 다시 보내도 히스토리는 사용자당 한 행이다
+// INSERT IGNORE 는 외래 키 위반 같은 다른 오류까지 경고로 바꾸므로, 중복 키만 무시하도록 아무것도 바꾸지 않는 ON DUPLICATE KEY UPDATE 를 쓴다
+// 호출하는 쪽의 트랜잭션 안에서 실행해야 한다
+@Repository
+public class ProductUserNotificationHistoryBatchRepository {
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT INTO product_user_notification_history (product_id, user_id, restock_round, notified_at) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE user_id = user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ProductUserNotificationHistoryBatchRepository(JdbcTemplate jdbcTemplate,
+                                                         @Value("${notification.history.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // 히스토리 저장 (이미 저장된 (상품, 회차, 사용자) 는 무시)
+    public void insertIgnoringDuplicates(List<ProductUserNotificationHistory> histories) {
+        jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, histories, batchSize, (ps, history) -> {
+            ps.setLong(1, history.getProduct().getId());
+            ps.setLong(2, history.getUserId());
+            ps.setInt(3, history.getRestockRound());
+            ps.setTimestamp(4, Timestamp.valueOf(history.getNotifiedAt()));
+        });
+    }
+}
@@ -1,11 +1,13 @@
 package com.doosan.notification.repository;
 
 import com.doosan.notification.entity.ProductUserNotification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +22,26 @@ public interface ProductUserNotificationRepository extends JpaRepository<Product
     //NotificationServiceTest 코드에서 정렬된 데이터 검증
     List<ProductUserNotification> findByProductIdAndIsActiveTrueOrderByUserIdAsc(Long id);
 
+    boolean existsByProductIdAndIsActiveTrue(Long productId);
+
+    // 여러 상품 중 활성화된 구독자가 있는 상품 ID (상품마다 exists 조회를 하지 않도록 한 번에 조회)
+    @Query("SELECT DISTINCT pun.product.id FROM ProductUserNotification pun " +
+            "WHERE pun.product.id IN :productIds AND pun.isActive = true")
+    List<Long> findProductIdsWithActiveUsers(@Param("productIds") Collection<Long> productIds);
+
+    // 활성화된 구독자 수 (limit 명까지만 센다)
+    // 재고보다 많은 구독자는 이번 회차에 보내지 않으므로 구독자가 많아도 재고 수만큼만 읽는다
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM product_user_notification " +
+            "WHERE product_id = :productId AND is_active = true LIMIT :limit) t", nativeQuery = true)
+    long countActiveUsersUpTo(@Param("productId") Long productId, @Param("limit") long limit);
+
+    // 키셋 페이지네이션: afterUserId 이후의 활성 사용자 ID를 userId 순으로 pageable 크기만큼 조회
+    // 엔티티를 만들지 않고 user_id 만 읽어서 구독자가 많아도 영속성 컨텍스트가 커지지 않도록
+    @Query("SELECT pun.userId FROM ProductUserNotification pun " +
+            "WHERE pun.product.id = :productId AND pun.isActive = true AND pun.userId > :afterUserId " +
+            "ORDER BY pun.userId ASC")
+    List<Long> findActiveUserIdsAfter(@Param("productId") Long productId,
+                                      @Param("afterUserId") Long afterUserId,
+                                      Pageable pageable);
+
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.doosan.notification.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// 클러스터 속도 제한 토큰 블록 임대 (rate_limit_lease)
+// limiter 행을 잠그고 윈도에 남은 토큰에서 블록을 떼어 가므로, 모든 노드가 임대한 합이 윈도당 limit 을 넘지 않는다
+@Repository
+public class RateLimitLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RateLimitLeaseRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 호출한 쪽 트랜잭션과 관계없이 바로 커밋하여 행 락을 짧게 잡음
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // minWindow 초 이후 토큰이 남은 가장 이른 윈도에서 최대 wanted 개를 임대 (윈도에 남은 만큼만 줄 수 있음)
+    public Grant claim(String name, long minWindow, int wanted, int limit) {
+        Grant grant = transactionTemplate.execute(status -> claimLocked(name, minWindow, wanted, limit));
+        if (grant != null) {
+            return grant;
+        }
+        createIfAbsent(name, minWindow);
+        return transactionTemplate.execute(status -> claimLocked(name, minWindow, wanted, limit));
+    }
+
+    private Grant claimLocked(String name, long minWindow, int wanted, int limit) {
+        List<long[]> rows = jdbcTemplate.query(
+                "SELECT window_start, granted FROM rate_limit_lease WHERE name = ? FOR UPDATE",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getInt(2)}, name);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        long window = Math.max(rows.get(0)[0], minWindow);
+        int granted = window == rows.get(0)[0] ? (int) rows.get(0)[1] : 0; // 지난 윈도의 임대 수는 새 윈도에서 0 부터
+        if (granted >= limit) {
+            window++; // 이 윈도는 다 썼으므로 다음 윈도에서 임대
+            granted = 0;
+        }
+        int count = Math.min(wanted, limit - granted);
+        jdbcTemplate.update("UPDATE rate_limit_lease SET window_start = ?, granted = ? WHERE name = ?",
+                window, granted + count, name);
+        return new Grant(window, granted, count);
+    }
+
+    private void createIfAbsent(String name, long window) {
+        try {
+            jdbcTemplate.update("INSERT INTO rate_limit_lease (name, window_start, granted) VALUES (?, ?, 0)", name, window);
+        } catch (DuplicateKeyException e) {
+            // 다른 노드가 먼저 만듦
+        }
+    }
+
+    // window 초에 사용할 수 있는 토큰 count 개 (윈도 안에서 first 번째부터, 0 부터 셈)
+    public record Grant(long window, int first, int count) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.doosan.notification.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 진행 중인 재입고 알림 회차 임대 (restock_flight)
+// 행을 잠그고 기다리지 않고 INSERT/조건부 UPDATE 한 문장으로 성공 여부를 바로 알 수 있어, 중복 요청이 락에 줄 서지 않는다
+@Repository
+public class RestockFlightRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RestockFlightRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 회차 준비 권한 획득 (행이 없거나, 준비 중에 만료된 행이면 가져옴)
+    public boolean tryAcquire(Long productId, String token, LocalDateTime now, LocalDateTime leaseExpiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO restock_flight (product_id, token, notification_history_id, lease_expires_at) " +
+                    "VALUES (?, ?, NULL, ?)", productId, token, leaseExpiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update("UPDATE restock_flight SET token = ?, lease_expires_at = ? " +
+                    "WHERE product_id = ? AND notification_history_id IS NULL AND lease_expires_at < ?",
+                    token, leaseExpiresAt, productId, now) > 0;
+        }
+    }
+
+    // 준비가 끝난 회차 기록 (이후 요청은 이 회차를 받음)
+    public void attach(Long productId, String token, Long notificationHistoryId) {
+        jdbcTemplate.update("UPDATE restock_flight SET notification_history_id = ? WHERE product_id = ? AND token = ?",
+                notificationHistoryId, productId, token);
+    }
+
+    // 진행 중인 회차 (행이 없으면 null)
+    public Flight find(Long productId) {
+        List<Flight> flights = jdbcTemplate.query(
+                "SELECT notification_history_id FROM restock_flight WHERE product_id = ?",
+                (rs, rowNum) -> new Flight(rs.getObject(1, Long.class)), productId);
+        return flights.isEmpty() ? null : flights.get(0);
+    }
+
+    // 준비에 실패한 요청의 권한 반환
+    public void release(Long productId, String token) {
+        jdbcTemplate.update("DELETE FROM restock_flight WHERE product_id = ? AND token = ?", productId, token);
+    }
+
+    // 회차 종료
+    public void finish(Long productId, Long notificationHistoryId) {
+        jdbcTemplate.update("DELETE FROM restock_flight WHERE product_id = ? AND notification_history_id = ?",
+                productId, notificationHistoryId);
+    }
+
+    // 진행 중인 회차 (준비 중이면 notificationHistoryId 가 null)
+    public record Flight(Long notificationHistoryId) {
+    }
+}
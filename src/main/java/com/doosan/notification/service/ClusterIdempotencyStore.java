@@ -0,0 +1,59 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// idempotency_record 테이블로 모든 인스턴스가 응답을 공유하는 저장소
+// 타임아웃 후 다른 인스턴스로 재시도된 요청도 처음 요청의 응답을 받는다
+@Component
+@ConditionalOnProperty(name = "notification.idempotency.store", havingValue = "cluster")
+public class ClusterIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final long ttlSeconds;
+    private final long pendingTimeoutMillis;
+
+    public ClusterIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                                   @Value("${notification.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                   @Value("${notification.idempotency.pending-timeout-ms:600000}") long pendingTimeoutMillis) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.pendingTimeoutMillis = pendingTimeoutMillis;
+    }
+
+    @Override
+    public Entry begin(String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        if (idempotencyRecordRepository.tryBegin(key, fingerprint, now, now.plusNanos(pendingTimeoutMillis * 1_000_000L))) {
+            return null;
+        }
+        IdempotencyRecordRepository.Record record = idempotencyRecordRepository.find(key);
+        if (record == null) {
+            return begin(key, fingerprint); // 그 사이 만료되어 삭제됨
+        }
+        Response response = record.statusCode() == null
+                ? null
+                : new Response(record.statusCode(), record.location(), record.responseBody());
+        return new Entry(record.fingerprint(), response);
+    }
+
+    @Override
+    public void complete(String key, Response response) {
+        idempotencyRecordRepository.complete(key, response.statusCode(), response.location(), response.body(),
+                LocalDateTime.now().plusSeconds(ttlSeconds));
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyRecordRepository.release(key);
+    }
+
+    @Override
+    public int evictExpired() {
+        return idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+}
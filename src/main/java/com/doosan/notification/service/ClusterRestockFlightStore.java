@@ -0,0 +1,51 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.repository.RestockFlightRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// restock_flight 테이블로 모든 인스턴스가 진행 중인 회차를 공유하는 저장소
+// 준비 권한은 prepare-timeout-ms 동안만 유효하므로, 준비 중에 노드가 내려가도 다른 요청이 이어서 준비할 수 있다
+@Component
+@ConditionalOnProperty(name = "notification.single-flight.store", havingValue = "cluster")
+public class ClusterRestockFlightStore implements RestockFlightStore {
+
+    private final RestockFlightRepository restockFlightRepository;
+    private final long prepareTimeoutMillis;
+
+    public ClusterRestockFlightStore(RestockFlightRepository restockFlightRepository,
+                                     @Value("${notification.single-flight.prepare-timeout-ms:30000}") long prepareTimeoutMillis) {
+        this.restockFlightRepository = restockFlightRepository;
+        this.prepareTimeoutMillis = prepareTimeoutMillis;
+    }
+
+    @Override
+    public boolean tryAcquire(Long productId, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        return restockFlightRepository.tryAcquire(productId, token, now, now.plusNanos(prepareTimeoutMillis * 1_000_000L));
+    }
+
+    @Override
+    public void attach(Long productId, String token, Long notificationHistoryId) {
+        restockFlightRepository.attach(productId, token, notificationHistoryId);
+    }
+
+    @Override
+    public Flight find(Long productId) {
+        RestockFlightRepository.Flight flight = restockFlightRepository.find(productId);
+        return flight == null ? null : new Flight(flight.notificationHistoryId());
+    }
+
+    @Override
+    public void release(Long productId, String token) {
+        restockFlightRepository.release(productId, token);
+    }
+
+    @Override
+    public void finish(Long productId, Long notificationHistoryId) {
+        restockFlightRepository.finish(productId, notificationHistoryId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.exception.DispatchSaturatedException;
+import com.doosan.notification.repository.NotificationOutboxRepository;
+import com.doosan.notification.util.NotificationRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 재입고 요청 입장 제어
+// 밀린 전송량이 max-pending-sends 이상이거나, 끝나지 않은 회차가 max-pending-rounds 를 넘게 되면 새 재입고 요청을 받지 않고 429 로 돌려보낸다
+// 밀린 전송량 = 디스패처에서 토큰을 기다리는 메시지 + 아웃박스에서 대기/실행 중인 회차가 아직 디스패처에 넣지 않은 계획 수량
+// (회차의 계획 수량은 재고가 아니라 min(재고, 구독자 수) 이므로 재고가 구독자보다 훨씬 많아도 실제로 보낼 만큼만 센다)
+// (비동기 요청은 아웃박스에 회차만 쌓고 바로 응답하므로 디스패처 대기열만 보면 폭주하는 요청을 막지 못한다)
+// 이미 받은 회차의 전송이 새 요청 뒤로 밀리지 않으므로, 과부하에서도 받은 작업의 대기 시간은 (한도 / 전송 속도) 안에 머문다
+// Retry-After 는 최근 전송 속도로 밀린 전송량이 한도 아래로 내려갈 때까지 걸리는 시간 (전송 기록이 없으면 속도 제한기 설정값 기준)
+@Slf4j
+@Component
+public class DispatchAdmission {
+
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRateLimiter rateLimiter;
+    private final NotificationMetrics notificationMetrics;
+    private final long maxPendingSends; // 0 이하이면 입장 제어를 하지 않음
+    private final long maxPendingRounds; // 0 이하이면 회차 수는 제한하지 않음
+    private final long maxRetryAfterSeconds;
+
+    public DispatchAdmission(NotificationDispatcher notificationDispatcher,
+                             NotificationOutboxRepository outboxRepository,
+                             NotificationRateLimiter rateLimiter,
+                             NotificationMetrics notificationMetrics,
+                             @Value("${notification.admission.max-pending-sends:20000}") long maxPendingSends,
+                             @Value("${notification.admission.max-pending-rounds:10000}") long maxPendingRounds,
+                             @Value("${notification.admission.max-retry-after-seconds:60}") long maxRetryAfterSeconds) {
+        this.notificationDispatcher = notificationDispatcher;
+        this.outboxRepository = outboxRepository;
+        this.rateLimiter = rateLimiter;
+        this.notificationMetrics = notificationMetrics;
+        this.maxPendingSends = maxPendingSends;
+        this.maxPendingRounds = maxPendingRounds;
+        this.maxRetryAfterSeconds = Math.max(1, maxRetryAfterSeconds);
+    }
+
+    // 재입고 회차 하나를 받을 여유가 없으면 DispatchSaturatedException
+    public void admit() {
+        admit(1);
+    }
+
+    // rounds 개 상품의 재입고 회차를 받을 여유가 없으면 DispatchSaturatedException (여러 상품 재입고 요청)
+    // 끝나지 않은 회차가 없으면 한도보다 큰 요청도 받는다 (한 번에 보낼 수 있는 상품 수는 batch-max-size 로 제한)
+    public void admit(int rounds) {
+        if (maxPendingSends <= 0) {
+            return;
+        }
+        long pending = notificationDispatcher.getPendingPermits() + outboxRepository.sumRemainingSendsOfOpenRounds();
+        if (pending >= maxPendingSends) {
+            reject(pending, "전송 대기 메시지 " + pending + "건이 한도 " + maxPendingSends + "건을 넘었습니다.",
+                    retryAfterSeconds(pending));
+        }
+        if (maxPendingRounds > 0) {
+            long openRounds = outboxRepository.countOpenRounds();
+            if (openRounds > 0 && openRounds + rounds > maxPendingRounds) {
+                // 밀린 전송을 모두 내보내면 회차도 끝나므로 지금 밀린 전송량을 다 보낼 때까지 걸리는 시간
+                reject(pending, "끝나지 않은 재입고 회차 " + openRounds + "건에 " + rounds + "건을 더하면 한도 "
+                        + maxPendingRounds + "건을 넘습니다.", drainSeconds(pending));
+            }
+        }
+    }
+
+    private void reject(long pending, String message, long retryAfterSeconds) {
+        notificationMetrics.recordAdmissionRejected();
+        log.warn("전송 대기열 포화로 재입고 요청 거부 - {} 대기 메시지: {}, Retry-After: {}초", message, pending, retryAfterSeconds);
+        throw new DispatchSaturatedException(message, retryAfterSeconds);
+    }
+
+    // 밀린 전송량이 한도 아래로 내려갈 때까지 걸리는 시간 (1 ~ max-retry-after-seconds 초)
+    long retryAfterSeconds(long pending) {
+        return drainSeconds(pending - maxPendingSends + 1);
+    }
+
+    // sends 건을 최근 전송 속도로 내보내는 데 걸리는 시간 (1 ~ max-retry-after-seconds 초)
+    private long drainSeconds(long sends) {
+        double drainRate = notificationDispatcher.getDrainRate();
+        if (drainRate <= 0) {
+            drainRate = rateLimiter.getPermitsPerSecond();
+        }
+        long seconds = (long) Math.ceil(sends / drainRate);
+        return Math.min(maxRetryAfterSeconds, Math.max(1, seconds));
+    }
+}
@@ -0,0 +1,119 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.exception.RestockRoundFailedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+// Idempotency-Key 헤더 처리
+// 타임아웃 후 같은 키로 재시도된 요청은 다시 실행하지 않고 처음 요청의 응답(상태 코드, Location, 본문)을 그대로 돌려준다
+// - 처음 요청이 아직 처리 중이면 409 (ConcurrencyFailureException), 다른 요청에 쓴 키면 400 (IllegalArgumentException)
+// - 처음 요청이 회차를 만들기 전에 실패하면 (입장 거부, 상품 없음 등) 응답을 저장하지 않고 키를 반환하므로 같은 키로 다시 시도할 수 있다
+// - 회차를 만든 뒤 실패하면 (RestockRoundFailedException) 키를 반환하지 않고 중단된 회차의 응답을 저장해, 재시도가 새 회차를 만들지 않는다
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed"; // 저장된 응답을 돌려줄 때 붙임
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    // key 가 없으면 그대로 실행, 있으면 키당 한 번만 실행하고 응답을 저장
+    // fingerprint: 키를 다른 요청에 다시 쓰지 않았는지 확인하는 요청 식별 값 (메서드, 경로, 쿼리)
+    public <T> ResponseEntity<T> execute(String key, String fingerprint, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1~" + MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+
+        IdempotencyStore.Entry existing = idempotencyStore.begin(key, fingerprint);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IllegalArgumentException("다른 요청에 사용한 Idempotency-Key 입니다: " + key);
+            }
+            if (existing.response() == null) {
+                throw new ConcurrencyFailureException("같은 Idempotency-Key 의 요청이 처리 중입니다: " + key);
+            }
+            log.info("Idempotency-Key 재시도 - 저장된 응답 반환, key: {}", key);
+            return replay(existing.response(), bodyType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RestockRoundFailedException e) {
+            // GlobalExceptionHandler 가 돌려주는 것과 같은 응답 (중단된 회차의 알림 기록)
+            complete(key, ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getNotificationHistory()));
+            throw e;
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        complete(key, response);
+        return response;
+    }
+
+    private void complete(String key, ResponseEntity<?> response) {
+        try {
+            idempotencyStore.complete(key, toStored(response));
+        } catch (RuntimeException | JsonProcessingException e) {
+            // 요청은 이미 처리되었으므로 응답은 그대로 돌려주고, 키는 처리 중 상태로 남겨 pending-timeout 동안 중복 실행을 막는다
+            log.error("Idempotency-Key 응답 저장 실패 - key: {}", key, e);
+        }
+    }
+
+    // 만료된 응답 삭제
+    @Scheduled(fixedDelayString = "${notification.idempotency.evict-interval-ms:60000}")
+    public void evictExpired() {
+        try {
+            int evicted = idempotencyStore.evictExpired();
+            if (evicted > 0) {
+                log.debug("만료된 Idempotency-Key 응답 삭제 - {}건", evicted);
+            }
+        } catch (Exception e) {
+            log.error("만료된 Idempotency-Key 응답 삭제 중 에러", e);
+        }
+    }
+
+    private IdempotencyStore.Response toStored(ResponseEntity<?> response) throws JsonProcessingException {
+        String body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+        return new IdempotencyStore.Response(response.getStatusCode().value(),
+                response.getHeaders().getFirst(HttpHeaders.LOCATION), body);
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyStore.Response stored, Class<T> bodyType) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode()).header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            builder.header(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        try {
+            return builder.body(objectMapper.readValue(stored.body(), bodyType));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.doosan.notification.service;
+
+// Idempotency-Key 로 처리한 요청의 응답 저장소
+// 키를 처음 선점한 요청만 실행하고, 같은 키로 다시 들어온 요청은 저장된 응답을 받는다
+// 완료된 응답은 ttl-seconds 동안, 처리 중인 키는 pending-timeout-ms 동안 유지된다 (처리 중에 노드가 내려가도 키가 영원히 묶이지 않도록)
+// notification.idempotency.store: local(인스턴스 메모리) 또는 cluster(idempotency_record 테이블로 모든 인스턴스가 공유)
+public interface IdempotencyStore {
+
+    // 키 선점 (선점하면 null, 이미 있으면 저장된 기록)
+    Entry begin(String key, String fingerprint);
+
+    // 처리가 끝난 요청의 응답 저장
+    void complete(String key, Response response);
+
+    // 처리에 실패한 요청의 키 반환
+    void release(String key);
+
+    // 만료된 기록 삭제, 삭제한 수 반환
+    int evictExpired();
+
+    // 저장된 기록 (처리 중이면 response 가 null)
+    record Entry(String fingerprint, Response response) {
+    }
+
+    // 응답 상태 코드, Location 헤더, 본문 JSON (없으면 null)
+    record Response(int statusCode, String location, String body) {
+    }
+}
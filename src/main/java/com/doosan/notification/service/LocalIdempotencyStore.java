@@ -0,0 +1,60 @@
+package com.doosan.notification.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 인스턴스 메모리에 응답을 두는 저장소 (인스턴스 하나로 실행할 때 기본값)
+// 응답 객체 대신 상태 코드, Location, 본문 JSON 만 보관한다
+@Component
+@ConditionalOnProperty(name = "notification.idempotency.store", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Record> records = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long pendingTimeoutMillis;
+
+    public LocalIdempotencyStore(@Value("${notification.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                 @Value("${notification.idempotency.pending-timeout-ms:600000}") long pendingTimeoutMillis) {
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.pendingTimeoutMillis = pendingTimeoutMillis;
+    }
+
+    @Override
+    public Entry begin(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        Record pending = new Record(fingerprint, null, now + pendingTimeoutMillis);
+        Record current = records.compute(key, (k, record) -> record == null || record.expiresAt() < now ? pending : record);
+        return current == pending ? null : new Entry(current.fingerprint(), current.response());
+    }
+
+    @Override
+    public void complete(String key, Response response) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        records.computeIfPresent(key, (k, record) -> new Record(record.fingerprint(), response, expiresAt));
+    }
+
+    @Override
+    public void release(String key) {
+        records.computeIfPresent(key, (k, record) -> record.response() == null ? null : record);
+    }
+
+    @Override
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, Record> entry : records.entrySet()) {
+            if (entry.getValue().expiresAt() < now && records.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private record Record(String fingerprint, Response response, long expiresAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.doosan.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// 실제로 보내지 않고 모든 메시지를 전송 성공으로 처리하는 전송 채널 (로컬 실행, 테스트용 기본값)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.sender.type", havingValue = "local", matchIfMissing = true)
+public class LocalNotificationSender implements NotificationSender {
+
+    @Override
+    public CompletableFuture<List<Delivery>> sendAll(List<Message> messages) {
+        log.debug("알림 전송 (local) - {}건", messages.size());
+        return CompletableFuture.completedFuture(messages.stream().map(Delivery::ok).toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.doosan.notification.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 인스턴스 메모리에 진행 중인 회차를 두는 저장소 (인스턴스 하나로 실행할 때 기본값)
+@Component
+@ConditionalOnProperty(name = "notification.single-flight.store", havingValue = "local", matchIfMissing = true)
+public class LocalRestockFlightStore implements RestockFlightStore {
+
+    private final Map<Long, Entry> flights = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(Long productId, String token) {
+        return flights.putIfAbsent(productId, new Entry(token, null)) == null;
+    }
+
+    @Override
+    public void attach(Long productId, String token, Long notificationHistoryId) {
+        flights.computeIfPresent(productId, (id, entry) ->
+                entry.token().equals(token) ? new Entry(token, notificationHistoryId) : entry);
+    }
+
+    @Override
+    public Flight find(Long productId) {
+        Entry entry = flights.get(productId);
+        return entry == null ? null : new Flight(entry.notificationHistoryId());
+    }
+
+    @Override
+    public void release(Long productId, String token) {
+        flights.computeIfPresent(productId, (id, entry) -> entry.token().equals(token) ? null : entry);
+    }
+
+    @Override
+    public void finish(Long productId, Long notificationHistoryId) {
+        flights.computeIfPresent(productId, (id, entry) ->
+                Objects.equals(entry.notificationHistoryId(), notificationHistoryId) ? null : entry);
+    }
+
+    private record Entry(String token, Long notificationHistoryId) {
+    }
+}
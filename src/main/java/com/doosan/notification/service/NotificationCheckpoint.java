@@ -0,0 +1,115 @@
+package com.doosan.notification.service;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 재입고 알림 전송 진행 상황 (마지막 알림 사용자 ID 체크포인트와 전송 성공/실패 수)
+// 워커 스레드는 임의 순서로 끝나므로, 앞선 사용자가 모두 처리된 구간의 마지막 사용자까지만 체크포인트를 올린다
+// 재개 시 체크포인트 다음 사용자부터 보내면 빠지는 사용자 없이 이어서 전송할 수 있다
+// 워커는 메모리에서만 갱신하고, 저장은 flush 주기마다 drain 으로 꺼낸 값을 한 번의 UPDATE 로 반영한다
+public class NotificationCheckpoint {
+
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>(); // 처리가 끝나지 않은 청크 (userId 순)
+    private final long flushIntervalNanos;
+    private final AtomicLong lastFlushNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder sentCount = new LongAdder();   // 이번 실행에서 전송에 성공한 사용자 수
+    private final LongAdder failedCount = new LongAdder(); // 이번 실행에서 재시도까지 실패한 사용자 수
+    private long flushedSentCount;   // 이미 저장한 성공 수
+    private long flushedFailedCount; // 이미 저장한 실패 수
+    private Long checkpoint;
+
+    public NotificationCheckpoint(Long checkpoint, long flushIntervalMillis) {
+        this.checkpoint = checkpoint;
+        this.flushIntervalNanos = flushIntervalMillis * 1_000_000L;
+    }
+
+    // 전송할 청크 등록 (userId 오름차순, 이전 청크보다 뒤)
+    public synchronized Chunk register(long[] userIds) {
+        Chunk chunk = new Chunk(userIds);
+        if (chunk.userIds.length > 0) {
+            chunks.addLast(chunk);
+        }
+        return chunk;
+    }
+
+    // 청크의 index 번째 사용자 처리 완료 (전송 성공/실패 모두)
+    public synchronized void complete(Chunk chunk, int index) {
+        chunk.done.set(index);
+        while (!chunks.isEmpty()) {
+            Chunk head = chunks.peekFirst();
+            int next = head.done.nextClearBit(head.position);
+            if (next > head.position) {
+                checkpoint = head.userIds[next - 1];
+                head.position = next;
+            }
+            if (next < head.userIds.length) {
+                break;
+            }
+            chunks.pollFirst();
+        }
+    }
+
+    public synchronized Long get() {
+        return checkpoint;
+    }
+
+    public void recordSent(int count) {
+        sentCount.add(count);
+    }
+
+    public void recordFailed(int count) {
+        failedCount.add(count);
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    // 저장할 진행 상황 (체크포인트와 마지막 저장 이후 늘어난 성공/실패 수), 아직 처리된 사용자가 없으면 null
+    // 저장에 실패하면 restore 로 되돌려 다음 저장에 다시 포함한다
+    public synchronized Progress drain() {
+        if (checkpoint == null) {
+            return null;
+        }
+        long sent = sentCount.sum();
+        long failed = failedCount.sum();
+        Progress progress = new Progress(checkpoint, sent - flushedSentCount, failed - flushedFailedCount);
+        flushedSentCount = sent;
+        flushedFailedCount = failed;
+        return progress;
+    }
+
+    public synchronized void restore(Progress progress) {
+        flushedSentCount -= progress.sentDelta();
+        flushedFailedCount -= progress.failedDelta();
+    }
+
+    // 마지막 저장 후 flush 주기가 지났으면 true (동시에 호출해도 한 스레드만 true)
+    public boolean isFlushDue() {
+        long last = lastFlushNanos.get();
+        long now = System.nanoTime();
+        return now - last >= flushIntervalNanos && lastFlushNanos.compareAndSet(last, now);
+    }
+
+    // 한 번에 저장하는 진행 상황
+    public record Progress(Long lastNotifiedUserId, long sentDelta, long failedDelta) {
+    }
+
+    // 한 번에 전송하는 사용자 묶음
+    public static final class Chunk {
+        private final long[] userIds;
+        private final BitSet done;
+        private int position; // 이 위치 앞까지는 모두 처리됨
+
+        private Chunk(long[] userIds) {
+            this.userIds = userIds;
+            this.done = new BitSet(userIds.length);
+        }
+    }
+}
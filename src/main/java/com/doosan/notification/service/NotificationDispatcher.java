@@ -0,0 +1,314 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.util.NotificationRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 속도 제한에 맞춰 알림 전송 작업을 내보내는 디스패처
+// 제출된 작업은 큐에 쌓이고, 페이서 스레드 하나가 토큰을 받을 때마다 하나씩 워커 스레드 풀로 넘긴다.
+// 토큰이 없으면 페이서 스레드만 대기하므로 작업이 버려지거나 워커가 재시도하며 바쁘게 돌지 않는다.
+//
+// 큐는 레인(예: 상품별 재입고 작업)마다 따로 두고, 작업이 있는 레인을 돌아가며 가중치만큼씩 꺼낸다 (deficit round robin)
+// 레인은 차례마다 weight × quantum 토큰을 적립하고 꺼낸 작업의 토큰 수만큼 쓰며, 남은 적립분은 다음 차례로 넘긴다
+// quantum 은 지금까지 들어온 작업 중 가장 큰 토큰 수이므로, 묶음 크기와 관계없이 레인끼리 토큰이 가중치 비율로 나뉜다
+// 구독자가 많은 재입고가 전송 중이어도 작은 재입고는 그 뒤에 줄 서지 않고 자기 차례마다 전송된다
+// 여러 사용자에게 보내는 전송 묶음은 submitAsync 로 묶음 크기만큼 토큰을 한 번에 받고, 워커는 전송을 시작만 하고 반환한다
+// 대기 중인 전송 수(토큰 기준)와 최근 내보낸 속도를 제공하여, 밀려 있을 때 새 재입고 요청을 받지 않도록 한다 (DispatchAdmission)
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private static final Object DEFAULT_LANE = new Object();
+    private static final int DRAIN_RATE_WINDOW_SECONDS = 5; // 전송 속도를 평균 내는 구간
+
+    private final NotificationRateLimiter rateLimiter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<Object, Lane> lanes = new HashMap<>();      // 작업이 남아 있는 레인
+    private final ArrayDeque<Lane> schedule = new ArrayDeque<>(); // 라운드 로빈 순서 (맨 앞 레인이 현재 차례)
+    private int pendingCount; // 전송 대기 중인 작업 수
+    private long pendingPermits; // 전송 대기 중인 작업이 받을 토큰 수 (= 대기 중인 메시지 수)
+    private int quantum = 1; // 레인 차례마다 가중치 1당 적립하는 토큰 수 (가장 큰 작업의 토큰 수)
+    private final DrainRate drainRate = new DrainRate(DRAIN_RATE_WINDOW_SECONDS);
+
+    private final Executor workerExecutor; // 실제 전송 작업을 실행하는 Executor (NotificationExecutorConfig)
+    private final ExecutorService pacerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-pacer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationDispatcher(NotificationRateLimiter rateLimiter,
+                                  @Qualifier("notificationDispatchExecutor") Executor workerExecutor) {
+        this.rateLimiter = rateLimiter;
+        this.workerExecutor = workerExecutor;
+    }
+
+    // 페이서 스레드 시작 (생성이 끝난 뒤에 시작해야 스레드가 초기화 중인 객체를 보지 않는다)
+    @PostConstruct
+    public void start() {
+        pacerExecutor.execute(this::pace);
+    }
+
+    // 작업을 기본 레인에 넣고, 실행이 끝나면 완료되는 Future 를 반환
+    public CompletableFuture<Void> submit(Runnable task) {
+        return submit(DEFAULT_LANE, 1, task);
+    }
+
+    // 작업을 laneKey 레인에 넣고, 실행이 끝나면 완료되는 Future 를 반환
+    // weight: 레인 가중치 (레인끼리 토큰을 weight 비율로 나눠 씀, 다른 레인보다 weight 배 빠르게 전송됨)
+    public CompletableFuture<Void> submit(Object laneKey, int weight, Runnable task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        enqueue(laneKey, weight, new DispatchTask(1, () -> {
+            task.run();
+            future.complete(null);
+        }, future));
+        return future;
+    }
+
+    // 토큰 permits 개를 한 번에 받아 실행하는 비동기 작업을 laneKey 레인에 넣는다 (예: 여러 사용자에게 보내는 전송 묶음)
+    // 워커 스레드는 task 를 호출해 전송을 시작만 하고 반환하며, task 가 돌려준 Future 가 끝나면 반환한 Future 도 완료된다
+    // 레인 가중치는 토큰 수 기준이므로 묶음 크기와 관계없이 레인끼리 같은 비율로 전송된다
+    public <T> CompletableFuture<T> submitAsync(Object laneKey, int weight, int permits, Supplier<CompletableFuture<T>> task) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("토큰 수는 0보다 커야 합니다: " + permits);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        enqueue(laneKey, weight, new DispatchTask(permits, () -> task.get().whenComplete((result, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }), future));
+        return future;
+    }
+
+    private void enqueue(Object laneKey, int weight, DispatchTask dispatchTask) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("레인 가중치는 0보다 커야 합니다: " + weight);
+        }
+        lock.lock();
+        try {
+            if (pacerExecutor.isShutdown()) {
+                // 종료 후 들어온 작업 (예: 백오프 대기 중 종료된 재시도)은 실행될 수 없으므로 바로 실패 처리
+                dispatchTask.future().completeExceptionally(new CancellationException("디스패처가 종료되었습니다."));
+                return;
+            }
+            Lane lane = lanes.get(laneKey);
+            if (lane == null) {
+                lane = new Lane(laneKey, weight);
+                lanes.put(laneKey, lane);
+                schedule.addLast(lane); // 새 레인은 이번 라운드의 마지막 차례
+            }
+            lane.weight = weight;
+            lane.tasks.addLast(dispatchTask);
+            quantum = Math.max(quantum, dispatchTask.permits());
+            pendingCount++;
+            pendingPermits += dispatchTask.permits();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 전송 대기 중인 작업 수
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 전송 대기 중인 메시지 수 (작업마다 받을 토큰 수의 합)
+    public long getPendingPermits() {
+        lock.lock();
+        try {
+            return pendingPermits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 최근 DRAIN_RATE_WINDOW_SECONDS 초 동안 워커에 넘긴 초당 메시지 수 (토큰 기준)
+    public double getDrainRate() {
+        return drainRate.perSecond(System.currentTimeMillis());
+    }
+
+    // 전송 대기 중인 작업이 있는 레인 수
+    public int getActiveLaneCount() {
+        lock.lock();
+        try {
+            return schedule.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 토큰을 받을 때마다 차례인 레인에서 작업을 하나씩 꺼내 워커에 넘긴다
+    // 작업 하나를 넘기다 예외가 나도 그 작업만 실패 처리하고 계속 돈다 (페이서가 멈추면 대기 중인 모든 전송이 끝나지 않으므로)
+    private void pace() {
+        while (!Thread.currentThread().isInterrupted()) {
+            DispatchTask task;
+            try {
+                task = next();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                rateLimiter.acquire(task.permits()); // 토큰이 없으면 페이서 스레드만 대기
+                workerExecutor.execute(task::run); // 동시 실행 한도에 도달하면 페이서 스레드가 대기
+                drainRate.record(task.permits(), System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                // 종료 중 토큰을 기다리던 작업 (큐에 남은 작업은 shutdown 에서 실패 처리)
+                task.future().completeExceptionally(new CancellationException("디스패처가 종료되었습니다."));
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // 속도 제한기 오류, 실행기 거부(RejectedExecutionException) 등
+                log.error("알림 전송 작업을 워커에 넘기지 못했습니다.", e);
+                task.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    // 현재 차례인 레인의 다음 작업
+    // 차례가 시작되면 weight × quantum 을 적립하고, 맨 앞 작업이 적립분보다 크면 남은 적립분을 가진 채로 다음 레인에 차례를 넘긴다
+    // 레인이 비면 적립분도 함께 사라진다 (대기 작업이 없는 동안 토큰을 모아 두지 않도록)
+    private DispatchTask next() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                while (schedule.isEmpty()) {
+                    notEmpty.await();
+                }
+                Lane lane = schedule.peekFirst();
+                if (!lane.turnStarted) {
+                    lane.deficit += (long) lane.weight * quantum;
+                    lane.turnStarted = true;
+                }
+                DispatchTask task = lane.tasks.peekFirst();
+                if (task.permits() > lane.deficit) {
+                    lane.turnStarted = false;
+                    schedule.addLast(schedule.pollFirst()); // 적립분을 다 썼으므로 다음 레인 차례
+                    continue;
+                }
+                lane.tasks.pollFirst();
+                lane.deficit -= task.permits();
+                pendingCount--;
+                pendingPermits -= task.permits();
+                if (lane.tasks.isEmpty()) {
+                    schedule.pollFirst();
+                    lanes.remove(lane.key);
+                }
+                return task;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pacerExecutor.shutdownNow();
+        lock.lock();
+        try {
+            for (Lane lane : schedule) {
+                lane.tasks.forEach(task -> task.future().completeExceptionally(new CancellationException("디스패처가 종료되었습니다.")));
+            }
+            schedule.clear();
+            lanes.clear();
+            pendingCount = 0;
+            pendingPermits = 0;
+        } finally {
+            lock.unlock();
+        }
+        log.info("알림 디스패처 종료");
+    }
+
+    // 한 레인의 대기 작업 (lock 안에서만 접근)
+    private static final class Lane {
+        private final Object key;
+        private final ArrayDeque<DispatchTask> tasks = new ArrayDeque<>();
+        private int weight;
+        private long deficit;        // 쓸 수 있는 토큰 적립분 (차례가 끝나도 남은 만큼 다음 차례로 넘어감)
+        private boolean turnStarted; // 이번 차례의 적립을 이미 했는지
+
+        private Lane(Object key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+
+    // 최근 구간에 내보낸 토큰 수 (1초 버킷, 끝난 초만 평균에 넣음)
+    // 페이서 스레드가 기록하고 요청 스레드가 읽으므로 버킷 배열은 synchronized 로 보호한다
+    private static final class DrainRate {
+        private final int windowSeconds;
+        private final long[] seconds;
+        private final long[] permits;
+        private long firstSecond = -1; // 처음 기록한 초 (시작 직후에는 지난 초만큼만 나눠 속도를 낮게 보지 않도록)
+
+        private DrainRate(int windowSeconds) {
+            this.windowSeconds = windowSeconds;
+            this.seconds = new long[windowSeconds + 1]; // 진행 중인 초 + 끝난 windowSeconds 초
+            this.permits = new long[windowSeconds + 1];
+        }
+
+        synchronized void record(int count, long nowMillis) {
+            long second = nowMillis / 1000;
+            if (firstSecond < 0) {
+                firstSecond = second;
+            }
+            int index = (int) (second % seconds.length);
+            if (seconds[index] != second) {
+                seconds[index] = second;
+                permits[index] = 0;
+            }
+            permits[index] += count;
+        }
+
+        synchronized double perSecond(long nowMillis) {
+            long current = nowMillis / 1000;
+            long span = firstSecond < 0 ? 0 : Math.min(windowSeconds, current - firstSecond);
+            if (span <= 0) {
+                return 0;
+            }
+            long total = 0;
+            for (int i = 0; i < seconds.length; i++) {
+                if (seconds[i] < current && seconds[i] >= current - windowSeconds) {
+                    total += permits[i];
+                }
+            }
+            return (double) total / span;
+        }
+    }
+
+    // body 는 성공 시 future 를 완료하고, 예외가 나면 여기서 future 를 실패 처리한다
+    private record DispatchTask(int permits, Runnable body, CompletableFuture<?> future) {
+        void run() {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
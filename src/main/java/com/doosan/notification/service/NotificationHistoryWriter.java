@@ -0,0 +1,148 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.ProductUserNotificationHistory;
+import com.doosan.notification.repository.ProductUserNotificationHistoryBatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 사용자별 알림 히스토리를 모아서 배치로 저장하는 writer
+// 워커 스레드는 버퍼에 넣기만 하고, batch-size 만큼 쌓이거나 flush-interval 이 지나면 flusher 스레드가 한 번에 저장한다
+// 같은 회차에 같은 사용자 히스토리가 다시 들어오면 저장 시 무시한다 (중복 전송이 배치 저장을 실패시키지 않도록)
+// 저장에 실패한 배치는 버퍼에서 이미 꺼냈으므로 백오프하며 max-attempts 번까지 다시 저장하고, 끝내 실패하면 버린 건수를 지표로 남긴다
+@Slf4j
+@Component
+public class NotificationHistoryWriter {
+
+    private final ProductUserNotificationHistoryBatchRepository userNotificationHistoryBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationMetrics notificationMetrics;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final Queue<ProductUserNotificationHistory> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock(); // 동시에 하나의 flush 만 실행
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-history-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationHistoryWriter(ProductUserNotificationHistoryBatchRepository userNotificationHistoryBatchRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     NotificationMetrics notificationMetrics,
+                                     @Value("${notification.history.batch-size:100}") int batchSize,
+                                     @Value("${notification.history.flush-interval-ms:200}") long flushIntervalMillis,
+                                     @Value("${notification.history.max-attempts:3}") int maxAttempts,
+                                     @Value("${notification.history.retry-backoff-ms:100}") long retryBackoffMillis) {
+        this.userNotificationHistoryBatchRepository = userNotificationHistoryBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationMetrics = notificationMetrics;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    // 주기적 flush 시작 (생성이 끝난 뒤에 시작해야 flusher 스레드가 초기화 중인 객체를 보지 않는다)
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 히스토리를 버퍼에 추가 (DB 에 바로 쓰지 않음)
+    public void append(ProductUserNotificationHistory history) {
+        buffer.add(history);
+        if (bufferedCount.incrementAndGet() == batchSize) {
+            flusher.execute(this::flushQuietly); // 배치 크기가 차면 flusher 스레드가 저장
+        }
+    }
+
+    // 버퍼에 쌓인 히스토리를 모두 저장 (진행 중인 flush 가 있으면 끝날 때까지 대기)
+    // 재시도까지 실패하면 그 배치를 버리고 예외를 던진다 (남은 히스토리는 버퍼에 그대로 있어 다음 flush 에서 저장)
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<ProductUserNotificationHistory> batch;
+            while (!(batch = drain()).isEmpty()) {
+                insertWithRetry(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 배치 저장 (실패하면 retry-backoff-ms 부터 두 배씩 늘려 기다린 뒤 다시 저장)
+    private void insertWithRetry(List<ProductUserNotificationHistory> histories) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> userNotificationHistoryBatchRepository.insertIgnoringDuplicates(histories));
+                notificationMetrics.recordHistoryBatch(histories.size(), System.nanoTime() - start);
+                log.debug("알림 히스토리 배치 저장 완료 - {}건", histories.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    notificationMetrics.recordHistoryDropped(histories.size());
+                    log.error("알림 히스토리 배치 저장을 {}번 실패해 {}건을 버림", attempt, histories.size(), e);
+                    throw e;
+                }
+                long backoffMillis = retryBackoffMillis << (attempt - 1);
+                log.warn("알림 히스토리 배치 저장 실패, {}ms 후 다시 저장 - {}건, 시도: {}", backoffMillis, histories.size(), attempt, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    notificationMetrics.recordHistoryDropped(histories.size());
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 저장 대기 중인 히스토리 수
+    public int getBufferedCount() {
+        return bufferedCount.get();
+    }
+
+    private List<ProductUserNotificationHistory> drain() {
+        List<ProductUserNotificationHistory> batch = new ArrayList<>(batchSize);
+        ProductUserNotificationHistory history;
+        while (batch.size() < batchSize && (history = buffer.poll()) != null) {
+            batch.add(history);
+        }
+        bufferedCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("알림 히스토리 배치 저장 중 에러", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly(); // 종료 전에 남은 히스토리 저장
+    }
+}
@@ -0,0 +1,127 @@
+package com.doosan.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 재입고 알림 전송 지표 기록 (Micrometer, /actuator/prometheus 로 노출)
+// 속도 제한기/디스패처 상태처럼 값을 읽기만 하면 되는 지표는 NotificationMetricsConfig 에서 등록한다
+@Component
+public class NotificationMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter sendSuccess;
+    private final Counter sendFailure;
+    private final DistributionSummary historyBatchSize;
+    private final Timer historyBatchLatency;
+
+    public NotificationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.sendSuccess = Counter.builder("notification.sends")
+                .description("사용자별 알림 전송 수")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.sendFailure = Counter.builder("notification.sends")
+                .description("사용자별 알림 전송 수")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.historyBatchSize = DistributionSummary.builder("notification.history.batch.size")
+                .description("알림 히스토리 배치 저장 한 번에 저장한 행 수")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.historyBatchLatency = Timer.builder("notification.history.batch.latency")
+                .description("알림 히스토리 배치 저장 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // 사용자 한 명에게 알림 전송
+    public void recordSend(boolean success) {
+        (success ? sendSuccess : sendFailure).increment();
+    }
+
+    // 전송에 실패해 백오프 후 다시 보낸 메시지 수
+    public void recordSendRetry(int count) {
+        Counter.builder("notification.sends.retries")
+                .description("전송 실패 후 다시 보낸 메시지 수")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    // 재시도를 모두 실패해 데드레터로 기록한 메시지 수
+    public void recordDeadLetters(int count) {
+        Counter.builder("notification.dead.letters")
+                .description("재시도를 모두 실패해 데드레터로 기록한 알림 수")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    // 전송 대기열 포화로 거부한 재입고 요청 수
+    public void recordAdmissionRejected() {
+        Counter.builder("notification.admission.rejected")
+                .description("전송 대기열 포화로 429 를 반환한 재입고 요청 수")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 알림 히스토리 배치 저장
+    public void recordHistoryBatch(int size, long elapsedNanos) {
+        historyBatchSize.record(size);
+        historyBatchLatency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 재시도까지 저장에 실패해 버린 알림 히스토리 수
+    public void recordHistoryDropped(int count) {
+        Counter.builder("notification.history.dropped")
+                .description("배치 저장을 재시도까지 실패해 버린 알림 히스토리 수")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    // 상품/재고 행 락을 잡을 때까지 걸린 시간 (lock: product, stock)
+    public <T> T recordLockWait(String lock, Supplier<T> supplier) {
+        return Timer.builder("notification.stock.lock.wait")
+                .description("재입고 알림 준비 시 행 락 대기 시간")
+                .tag("lock", lock)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    // 낙관적 락 모드에서 다른 요청이 먼저 회차를 올려 준비 트랜잭션을 다시 실행한 횟수
+    public void recordOptimisticRetry() {
+        Counter.builder("notification.restock.optimistic.retries")
+                .description("재입고 알림 준비 중 버전 충돌로 다시 시도한 횟수")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 재입고 알림 한 회차의 전송 소요 시간과 초당 전송 수
+    public void recordFanOut(String status, long elapsedNanos, long sentCount) {
+        Timer.builder("notification.restock.fanout.duration")
+                .description("재입고 알림 한 회차 전송 소요 시간")
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            DistributionSummary.builder("notification.restock.fanout.sends.per.second")
+                    .description("재입고 알림 한 회차의 초당 전송 수")
+                    .register(meterRegistry)
+                    .record(sentCount * 1_000_000_000.0 / elapsedNanos);
+        }
+    }
+
+    // 알림 기록의 최종 상태 (notificationStatus)
+    public void recordFinished(String status) {
+        Counter.builder("notification.restock.finished")
+                .description("최종 상태별 재입고 알림 회차 수")
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment();
+    }
+}
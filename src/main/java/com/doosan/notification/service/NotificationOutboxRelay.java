@@ -0,0 +1,128 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.NotificationOutbox;
+import com.doosan.notification.repository.NotificationOutboxRepository;
+import com.doosan.notification.util.NodeIdentifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 아웃박스에 쌓인 재입고 알림 작업을 꺼내 실행하는 릴레이
+// 주기적으로(그리고 작업이 등록된 직후) 대기 작업을 SKIP LOCKED 로 가져가므로 여러 인스턴스가 나눠서 처리할 수 있고,
+// 실행 중 죽은 노드의 작업은 lease 가 만료되면 다른 노드가 이어서 실행한다
+@Slf4j
+@Component
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final NodeIdentifier nodeIdentifier;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor restockJobExecutor;
+    private final int maxRunningJobs; // 이 노드에서 동시에 실행하는 작업 수
+    private final long leaseSeconds;
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   NotificationService notificationService,
+                                   NodeIdentifier nodeIdentifier,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("restockJobExecutor") Executor restockJobExecutor,
+                                   @Value("${notification.restock.job-threads:4}") int maxRunningJobs,
+                                   @Value("${notification.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.nodeIdentifier = nodeIdentifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 커밋 직후 이벤트에서 호출될 때도 별도 트랜잭션으로 가져가도록
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.restockJobExecutor = restockJobExecutor;
+        this.maxRunningJobs = maxRunningJobs;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    // 주기적으로 대기 작업 확인
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        drain();
+    }
+
+    // 작업 등록 트랜잭션이 커밋되면 폴링 주기를 기다리지 않고 바로 가져감
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxCreated(OutboxCreatedEvent event) {
+        drain();
+    }
+
+    // 실행 여유만큼 작업을 가져와서 작업 스레드에 넘김 (가져간 작업 수 반환)
+    public int drain() {
+        if (!drainLock.tryLock()) {
+            return 0; // 다른 스레드가 가져가는 중
+        }
+        try {
+            int capacity = maxRunningJobs - runningJobs.get();
+            if (capacity <= 0) {
+                return 0;
+            }
+            List<NotificationOutbox> claimed = transactionTemplate.execute(status -> claim(capacity));
+            for (NotificationOutbox outbox : claimed) {
+                runningJobs.incrementAndGet();
+                try {
+                    restockJobExecutor.execute(() -> run(outbox));
+                } catch (RejectedExecutionException e) {
+                    runningJobs.decrementAndGet(); // 종료 중 (lease 가 만료되면 다른 노드가 가져감)
+                    log.warn("아웃박스 작업 실행 거부 - outboxId: {}", outbox.getId());
+                }
+            }
+            return claimed.size();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    public int getRunningJobs() {
+        return runningJobs.get();
+    }
+
+    // 실행 가능한 작업을 잠그고 이 노드 소유로 표시
+    private List<NotificationOutbox> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> claimable = outboxRepository.findClaimableForUpdate(now, limit);
+        for (NotificationOutbox outbox : claimable) {
+            if (NotificationOutbox.PROCESSING.equals(outbox.getStatus())) {
+                log.warn("lease 가 만료된 아웃박스 작업 재개 - outboxId: {}, 이전 소유자: {}", outbox.getId(), outbox.getOwner());
+            }
+            outbox.claim(nodeIdentifier.getId(), now.plusSeconds(leaseSeconds));
+        }
+        return claimable;
+    }
+
+    private void run(NotificationOutbox outbox) {
+        try {
+            notificationService.runOutbox(outbox);
+        } catch (RuntimeException e) {
+            log.error("아웃박스 작업 실행 중 에러 - outboxId: {}", outbox.getId(), e);
+        } finally {
+            runningJobs.decrementAndGet();
+        }
+    }
+
+    // 아웃박스 작업 등록 이벤트
+    public record OutboxCreatedEvent(Long outboxId) {
+    }
+}
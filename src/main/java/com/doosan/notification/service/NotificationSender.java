@@ -0,0 +1,31 @@
+package com.doosan.notification.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// 알림 전송 채널 (웹훅, 푸시, 이메일 등)
+// notification.sender.type 으로 구현체를 고른다: local (기본, 실제로 보내지 않음), webhook
+//
+// 메시지 묶음을 한 번에 넘기고, 전송이 끝나면 메시지별 결과(같은 순서)로 완료되는 Future 를 받는다
+// 구현체는 호출 스레드를 막지 않아야 한다 (디스패처 워커는 전송을 시작만 하고 다음 묶음으로 넘어감)
+// 전송 실패는 Future 를 실패시키지 않고 Delivery.failed 로 돌려준다
+public interface NotificationSender {
+
+    CompletableFuture<List<Delivery>> sendAll(List<Message> messages);
+
+    // 사용자 한 명에게 보내는 재입고 알림
+    record Message(long userId, long productId, int restockRound) {
+    }
+
+    // 메시지 하나의 전송 결과 (error: 실패 원인, 성공 시 null)
+    record Delivery(Message message, boolean delivered, String error) {
+
+        public static Delivery ok(Message message) {
+            return new Delivery(message, true, null);
+        }
+
+        public static Delivery failed(Message message, String error) {
+            return new Delivery(message, false, error);
+        }
+    }
+}
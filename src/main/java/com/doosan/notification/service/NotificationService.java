@@ -1,17 +1,50 @@
 package com.doosan.notification.service;
 
+import com.doosan.notification.dto.DeadLetterReplayResultDTO;
 import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+import com.doosan.notification.dto.RestockBatchResultDTO;
 import com.doosan.notification.entity.*;
 import com.doosan.notification.exception.ResourceNotFoundException;
+import com.doosan.notification.exception.RestockRoundFailedException;
 import com.doosan.notification.repository.*;
-import com.doosan.notification.util.NotificationRateLimiter;
+import com.doosan.notification.util.NodeIdentifier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,78 +54,651 @@ public class NotificationService {
     private final ProductStockRepository productStockRepository;
     private final ProductUserNotificationRepository userNotificationRepository;
     private final ProductUserNotificationHistoryRepository userNotificationHistoryRepository;
-    private final NotificationRateLimiter notificationRateLimiter;
+    private final NotificationHistoryWriter notificationHistoryWriter;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationSender notificationSender;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final NodeIdentifier nodeIdentifier;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationMetrics notificationMetrics;
+    private final SubscriberIndex subscriberIndex;
+    private final RestockFlightStore restockFlightStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor resultExecutor; // 전송 결과 처리(히스토리, 데드레터, 재고 반환, 체크포인트 저장)를 실행 (동시 실행 수 제한)
+    private final int fanOutChunkSize; // 한 번에 읽어서 전송하는 구독자 수
+    private final long outboxLeaseSeconds; // 아웃박스 작업 실행 권한 유지 시간 (청크마다 연장)
+    private final long checkpointFlushIntervalMillis; // 전송 중 체크포인트 저장 주기
+    private final boolean optimisticLocking; // true: 상품/재고 행을 잠그지 않고 버전 조건부 UPDATE 로 회차 증가
+    private final int optimisticMaxAttempts; // 버전 충돌 시 준비 트랜잭션 최대 시도 횟수
+    private final int batchMaxSize; // 여러 상품 재입고 요청 한 번에 허용하는 상품 수
+    private final int batchTransactionSize; // 여러 상품 재입고 준비 시 한 트랜잭션에서 처리하는 상품 수
+    private final int restockDispatchWeight; // 디스패처에서 재입고 레인이 차례마다 내보내는 작업 수
+    private final int manualDispatchWeight;  // 디스패처에서 수동 재전송 레인이 차례마다 내보내는 작업 수 (우선순위)
+    private final int senderBatchSize; // 전송 채널에 한 번에 넘기는 메시지 수
+    private final int retryMaxAttempts; // 사용자별 최대 전송 시도 횟수 (넘으면 데드레터로 기록)
+    private final long retryInitialBackoffMillis; // 첫 재시도 전 대기 시간 (시도마다 2배)
+    private final long retryMaxBackoffMillis; // 재시도 대기 시간 상한
+    private final int deadLetterReplayMaxSize; // 데드레터 재전송 한 번에 허용하는 건수
+    private final long singleFlightPollIntervalMillis; // 다른 요청이 준비/전송 중인 회차를 기다릴 때 확인 주기
+    private final long singleFlightPrepareTimeoutMillis; // 다른 요청의 회차 준비를 기다리는 최대 시간
+    private final long singleFlightJoinTimeoutMillis; // 합류한 회차가 끝나기를 기다리는 최대 시간 (넘으면 진행 중인 알림 기록 반환)
 
-    // 병렬 처리를 위한 스레드 풀 (최대 50개의 동시 작업)
-    private final ExecutorService executorService = Executors.newFixedThreadPool(50);
+    // 이 인스턴스에서 실행 중인 상품별 재입고 요청 (같은 상품의 동시 요청은 저장소 조회 없이 결과를 나눠 받음)
+    private final Map<Long, CompletableFuture<ProductNotificationHistoryDTO>> restockCalls = new ConcurrentHashMap<>();
 
     public NotificationService(ProductRepository productRepository,
                                ProductNotificationHistoryRepository notificationHistoryRepository,
                                ProductUserNotificationRepository userNotificationRepository,
                                ProductUserNotificationHistoryRepository userNotificationHistoryRepository,
+                               NotificationHistoryWriter notificationHistoryWriter,
                                ProductStockRepository productStockRepository,
-                               NotificationRateLimiter notificationRateLimiter) {
+                               NotificationDispatcher notificationDispatcher,
+                               NotificationSender notificationSender,
+                               NotificationOutboxRepository outboxRepository,
+                               NotificationDeadLetterRepository deadLetterRepository,
+                               NodeIdentifier nodeIdentifier,
+                               ApplicationEventPublisher eventPublisher,
+                               NotificationMetrics notificationMetrics,
+                               SubscriberIndex subscriberIndex,
+                               RestockFlightStore restockFlightStore,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("notificationResultExecutor") Executor resultExecutor,
+                               @Value("${notification.fanout.chunk-size:1000}") int fanOutChunkSize,
+                               @Value("${notification.outbox.lease-seconds:300}") long outboxLeaseSeconds,
+                               @Value("${notification.checkpoint.flush-interval-ms:1000}") long checkpointFlushIntervalMillis,
+                               @Value("${notification.restock.locking:pessimistic}") String lockingMode,
+                               @Value("${notification.restock.optimistic-max-attempts:5}") int optimisticMaxAttempts,
+                               @Value("${notification.restock.batch-max-size:10000}") int batchMaxSize,
+                               @Value("${notification.restock.batch-transaction-size:500}") int batchTransactionSize,
+                               @Value("${notification.dispatch.restock-weight:1}") int restockDispatchWeight,
+                               @Value("${notification.dispatch.manual-weight:4}") int manualDispatchWeight,
+                               @Value("${notification.sender.batch-size:50}") int senderBatchSize,
+                               @Value("${notification.retry.max-attempts:3}") int retryMaxAttempts,
+                               @Value("${notification.retry.initial-backoff-ms:200}") long retryInitialBackoffMillis,
+                               @Value("${notification.retry.max-backoff-ms:5000}") long retryMaxBackoffMillis,
+                               @Value("${notification.dead-letter.replay-max-size:10000}") int deadLetterReplayMaxSize,
+                               @Value("${notification.single-flight.poll-interval-ms:200}") long singleFlightPollIntervalMillis,
+                               @Value("${notification.single-flight.prepare-timeout-ms:30000}") long singleFlightPrepareTimeoutMillis,
+                               @Value("${notification.single-flight.join-timeout-ms:30000}") long singleFlightJoinTimeoutMillis) {
         this.productRepository = productRepository;
         this.notificationHistoryRepository = notificationHistoryRepository;
         this.userNotificationRepository = userNotificationRepository;
         this.userNotificationHistoryRepository = userNotificationHistoryRepository;
-        this.notificationRateLimiter = notificationRateLimiter;
+        this.notificationHistoryWriter = notificationHistoryWriter;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationSender = notificationSender;
         this.productStockRepository = productStockRepository;
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.nodeIdentifier = nodeIdentifier;
+        this.eventPublisher = eventPublisher;
+        this.notificationMetrics = notificationMetrics;
+        this.subscriberIndex = subscriberIndex;
+        this.restockFlightStore = restockFlightStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resultExecutor = resultExecutor;
+        this.fanOutChunkSize = fanOutChunkSize;
+        this.outboxLeaseSeconds = outboxLeaseSeconds;
+        this.checkpointFlushIntervalMillis = checkpointFlushIntervalMillis;
+        this.optimisticLocking = "optimistic".equalsIgnoreCase(lockingMode);
+        this.optimisticMaxAttempts = optimisticMaxAttempts;
+        this.batchMaxSize = batchMaxSize;
+        this.batchTransactionSize = batchTransactionSize;
+        this.restockDispatchWeight = restockDispatchWeight;
+        this.manualDispatchWeight = manualDispatchWeight;
+        this.senderBatchSize = senderBatchSize;
+        this.retryMaxAttempts = Math.max(1, retryMaxAttempts);
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+        this.deadLetterReplayMaxSize = deadLetterReplayMaxSize;
+        this.singleFlightPollIntervalMillis = singleFlightPollIntervalMillis;
+        this.singleFlightPrepareTimeoutMillis = singleFlightPrepareTimeoutMillis;
+        this.singleFlightJoinTimeoutMillis = singleFlightJoinTimeoutMillis;
+        log.info("재입고 알림 준비 락 방식: {}", optimisticLocking ? "optimistic" : "pessimistic");
     }
 
     // 재입고 알림 전송
-    @Transactional
+    // 상품/재고 락은 준비 트랜잭션 안에서만 잡고, 커밋 후 락 없이 속도 제한에 맞춰 알림을 전송한다
+    // (워커 스레드의 쓰기가 요청 트랜잭션의 행 락을 기다리며 교착되지 않도록)
+    // 같은 상품의 회차가 이미 진행 중이면 새 회차를 만들지 않고 그 회차가 끝날 때까지 기다려 결과를 받는다
+    // (join-timeout-ms 안에 끝나지 않으면 진행 중(IN_PROGRESS)인 알림 기록을 반환하므로 조회 API로 이어서 확인)
+    // 회차를 만든 뒤 전송 중에 실패하면 중단된 회차의 알림 기록을 담은 RestockRoundFailedException
     public ProductNotificationHistoryDTO sendRestockNotification(Long productId) {
-        log.info("재입고 알림 전송 시작 - productId: {}", productId);
+        return singleFlight(productId, true, token -> {
+            log.info("재입고 알림 전송 시작 - productId: {}", productId);
+            RestockContext context = executeWithRetry(productId, () -> prepareRestock(productId, false));
+            restockFlightStore.attach(productId, token, context.notificationHistory().getId());
+            try {
+                runRestock(context);
+            } catch (RuntimeException e) {
+                throw new RestockRoundFailedException(findFailedRound(context.notificationHistory()), e);
+            }
+            return convertToDto(context.notificationHistory());
+        });
+    }
+
+    // 재입고 알림 작업 등록 (비동기)
+    // 준비 트랜잭션(락, 회차 증가, 알림 기록 생성)에서 아웃박스에 작업을 기록하고,
+    // 전송은 커밋 후 아웃박스 릴레이가 가져가서 진행한다 (어느 인스턴스든 가져갈 수 있고 재시작 후에도 이어서 실행)
+    // 같은 상품의 회차가 이미 진행 중이면 새 회차를 만들지 않고 그 회차의 알림 기록을 반환한다
+    public ProductNotificationHistoryDTO startRestockNotification(Long productId) {
+        return singleFlight(productId, false, token -> {
+            log.info("재입고 알림 작업 등록 - productId: {}", productId);
+            RestockContext context = executeWithRetry(productId, () -> prepareRestock(productId, true));
+            restockFlightStore.attach(productId, token, context.notificationHistory().getId());
+            return convertToDto(context.notificationHistory());
+        });
+    }
+
+    // 같은 상품의 동시 재입고 요청을 하나의 회차로 합침 (single-flight)
+    // 이 인스턴스의 동시 요청은 먼저 온 요청의 결과를 그대로 받고 (저장소 조회 없음),
+    // 다른 인스턴스나 이미 끝난 요청이 시작한 회차는 RestockFlightStore 에서 찾아 그 회차에 합류한다
+    // 중복 요청은 상품/재고 행 락을 기다리지 않으므로 회차 증가와 전송이 반복되지 않는다
+    private ProductNotificationHistoryDTO singleFlight(Long productId, boolean waitForCompletion,
+                                                      Function<String, ProductNotificationHistoryDTO> leader) {
+        CompletableFuture<ProductNotificationHistoryDTO> call = new CompletableFuture<>();
+        CompletableFuture<ProductNotificationHistoryDTO> running = restockCalls.putIfAbsent(productId, call);
+        if (running != null) {
+            log.info("진행 중인 재입고 요청에 합류 - productId: {}", productId);
+            return awaitCall(productId, running);
+        }
+        try {
+            ProductNotificationHistoryDTO result = joinOrLeadFlight(productId, waitForCompletion, leader);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            restockCalls.remove(productId, call);
+        }
+    }
+
+    // 회차 준비 권한을 얻으면 새 회차를 시작하고, 아니면 진행 중인 회차를 받는다
+    private ProductNotificationHistoryDTO joinOrLeadFlight(Long productId, boolean waitForCompletion,
+                                                          Function<String, ProductNotificationHistoryDTO> leader) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(singleFlightPrepareTimeoutMillis);
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            if (restockFlightStore.tryAcquire(productId, token)) {
+                try {
+                    return leader.apply(token);
+                } catch (RuntimeException e) {
+                    restockFlightStore.release(productId, token);
+                    throw e;
+                }
+            }
 
+            ProductNotificationHistory notificationHistory = findRunningRound(productId, deadline);
+            if (notificationHistory != null) {
+                log.info("진행 중인 재입고 알림 회차에 합류 - productId: {}, historyId: {}", productId, notificationHistory.getId());
+                return waitForCompletion ? awaitFinished(notificationHistory.getId()) : convertToDto(notificationHistory);
+            }
+        }
+    }
+
+    // 다른 요청이 권한을 가진 회차의 알림 기록 (방금 끝났거나 다른 요청이 준비 중이면 null 이므로 다시 권한 획득 시도)
+    // 다른 요청이 prepare-timeout-ms 가 지나도록 회차를 준비하고 있으면 ConcurrencyFailureException
+    private ProductNotificationHistory findRunningRound(Long productId, long deadline) {
+        RestockFlightStore.Flight flight = restockFlightStore.find(productId);
+        if (flight == null) {
+            return null; // 방금 끝난 회차
+        }
+        if (flight.notificationHistoryId() != null) {
+            ProductNotificationHistory notificationHistory = notificationHistoryRepository.findById(flight.notificationHistoryId()).orElse(null);
+            if (notificationHistory != null && "IN_PROGRESS".equals(notificationHistory.getNotificationStatus())) {
+                return notificationHistory;
+            }
+            restockFlightStore.finish(productId, flight.notificationHistoryId()); // 끝났지만 정리되지 않은 회차
+            return null;
+        }
+        if (System.nanoTime() > deadline) {
+            throw new ConcurrencyFailureException("다른 요청의 재입고 알림 준비가 끝나지 않았습니다 - productId: " + productId);
+        }
+        sleepQuietly(singleFlightPollIntervalMillis); // 다른 요청이 회차를 준비하는 중
+        return null;
+    }
+
+    // 진행 중인 회차가 끝날 때까지 기다린 뒤 알림 기록 반환
+    // join-timeout-ms 안에 끝나지 않으면 진행 중인 알림 기록을 그대로 반환 (요청 스레드를 회차 전체 동안 붙잡지 않도록)
+    private ProductNotificationHistoryDTO awaitFinished(Long notificationHistoryId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(singleFlightJoinTimeoutMillis);
+        while (true) {
+            ProductNotificationHistory notificationHistory = notificationHistoryRepository.findById(notificationHistoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("재입고 알림 기록이 존재하지 않습니다."));
+            if (!"IN_PROGRESS".equals(notificationHistory.getNotificationStatus()) || System.nanoTime() - deadline > 0) {
+                return convertToDto(notificationHistory);
+            }
+            sleepQuietly(singleFlightPollIntervalMillis);
+        }
+    }
+
+    // 먼저 온 요청의 결과 대기 (먼저 온 요청이 실패하면 같은 예외)
+    // join-timeout-ms 안에 끝나지 않으면 먼저 온 요청이 준비한 회차의 진행 중인 알림 기록을 반환한다
+    private ProductNotificationHistoryDTO awaitCall(Long productId, CompletableFuture<ProductNotificationHistoryDTO> call) {
+        try {
+            return call.get(singleFlightJoinTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            RestockFlightStore.Flight flight = restockFlightStore.find(productId);
+            if (flight == null || flight.notificationHistoryId() == null) {
+                throw new ConcurrencyFailureException("다른 요청의 재입고 알림 준비가 끝나지 않았습니다 - productId: " + productId);
+            }
+            log.info("합류한 재입고 알림 회차가 대기 시간 안에 끝나지 않아 진행 상황 반환 - productId: {}, historyId: {}",
+                    productId, flight.notificationHistoryId());
+            return notificationHistoryRepository.findById(flight.notificationHistoryId())
+                    .map(this::convertToDto)
+                    .orElseThrow(() -> new ResourceNotFoundException("재입고 알림 기록이 존재하지 않습니다."));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("재입고 알림 회차 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    // 중단된 회차의 알림 기록 (저장된 진행 상황을 다시 읽고, DB 를 읽지 못하면 메모리의 기록 사용)
+    private ProductNotificationHistoryDTO findFailedRound(ProductNotificationHistory notificationHistory) {
+        try {
+            return notificationHistoryRepository.findById(notificationHistory.getId())
+                    .map(this::convertToDto)
+                    .orElseGet(() -> convertToDto(notificationHistory));
+        } catch (RuntimeException e) {
+            log.warn("중단된 재입고 알림 기록 조회 실패 - historyId: {}", notificationHistory.getId(), e);
+            return convertToDto(notificationHistory);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("재입고 알림 회차 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    // 여러 상품 재입고 알림 작업 등록 (비동기)
+    // 상품/재고/구독자 여부를 상품마다 조회하지 않고 IN 조회로 한 번에 읽고, 상품 id 순으로 batch-transaction-size 개씩 한 트랜잭션에서 준비한다
+    // 전송은 아웃박스 릴레이가 가져가서 실행하므로 모든 상품이 같은 디스패처와 전역 속도 제한을 나눠 쓴다
+    // 단건 요청과 같은 single-flight 권한을 상품마다 얻고, 이미 진행 중인 회차가 있는 상품은 새 회차 대신 그 회차를 inFlight 로 돌려준다
+    public RestockBatchResultDTO startRestockNotifications(List<Long> productIds) {
+        List<Long> sortedProductIds = validateProductIds(productIds);
+        log.info("여러 상품 재입고 알림 작업 등록 - 상품 수: {}", sortedProductIds.size());
+
+        RestockBatchResultDTO result = new RestockBatchResultDTO();
+        for (int from = 0; from < sortedProductIds.size(); from += batchTransactionSize) {
+            List<Long> slice = sortedProductIds.subList(from, Math.min(sortedProductIds.size(), from + batchTransactionSize));
+            Map<Long, String> tokens = acquireFlights(slice, result);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            List<Long> leading = new ArrayList<>(tokens.keySet());
+            RestockBatchResultDTO sliceResult;
+            try {
+                sliceResult = executeWithRetry(leading.get(0) + ".." + leading.get(leading.size() - 1),
+                        () -> prepareRestockBatch(leading));
+            } catch (RuntimeException e) {
+                tokens.forEach(restockFlightStore::release);
+                throw e;
+            }
+            for (ProductNotificationHistoryDTO accepted : sliceResult.getAccepted()) {
+                restockFlightStore.attach(accepted.getProductId(), tokens.remove(accepted.getProductId()), accepted.getId());
+            }
+            tokens.forEach(restockFlightStore::release); // 회차를 만들지 않은 상품 (상품/재고/구독자 없음)
+            result.getAccepted().addAll(sliceResult.getAccepted());
+            result.getNotFoundProductIds().addAll(sliceResult.getNotFoundProductIds());
+            result.getNoActiveUserProductIds().addAll(sliceResult.getNoActiveUserProductIds());
+        }
+        log.info("여러 상품 재입고 알림 작업 등록 완료 - 등록: {}, 진행 중: {}, 상품/재고 없음: {}, 구독자 없음: {}",
+                result.getAccepted().size(), result.getInFlight().size(),
+                result.getNotFoundProductIds().size(), result.getNoActiveUserProductIds().size());
+        return result;
+    }
+
+    // 여러 상품의 회차 준비 권한 획득 (상품 id 순, 권한을 얻은 상품과 token 반환)
+    // 같은 상품의 회차가 이미 진행 중이면 권한 대신 그 회차의 알림 기록을 결과의 inFlight 에 기록한다
+    private Map<Long, String> acquireFlights(List<Long> productIds, RestockBatchResultDTO result) {
+        Map<Long, String> tokens = new LinkedHashMap<>();
+        try {
+            for (Long productId : productIds) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(singleFlightPrepareTimeoutMillis);
+                while (true) {
+                    String token = UUID.randomUUID().toString();
+                    if (restockFlightStore.tryAcquire(productId, token)) {
+                        tokens.put(productId, token);
+                        break;
+                    }
+                    ProductNotificationHistory notificationHistory = findRunningRound(productId, deadline);
+                    if (notificationHistory != null) {
+                        log.info("진행 중인 재입고 알림 회차가 있어 새 회차를 만들지 않음 - productId: {}, historyId: {}",
+                                productId, notificationHistory.getId());
+                        result.getInFlight().add(convertToDto(notificationHistory));
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            tokens.forEach(restockFlightStore::release);
+            throw e;
+        }
+        return tokens;
+    }
+
+    // 아웃박스 작업 실행 (NotificationOutboxRelay 에서 호출)
+    // 이전 실행이 중간에 죽었으면 알림 기록의 마지막 알림 사용자 다음부터 이어서 전송한다
+    public void runOutbox(NotificationOutbox outbox) {
+        ProductNotificationHistory notificationHistory = notificationHistoryRepository.findById(outbox.getNotificationHistoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("재입고 알림 기록이 존재하지 않습니다."));
+        if (!"IN_PROGRESS".equals(notificationHistory.getNotificationStatus())) {
+            // 전송은 끝났지만 아웃박스 완료 처리 전에 중단된 경우
+            outboxRepository.updateStatus(outbox.getId(), NotificationOutbox.DONE);
+            return;
+        }
+        Product product = productRepository.findById(outbox.getProductId())
+                .orElseThrow(() -> new ResourceNotFoundException("상품이 존재하지 않습니다."));
+
+        log.info("재입고 알림 작업 실행 - productId: {}, outboxId: {}, 시도: {}", product.getId(), outbox.getId(), outbox.getAttempts());
+        runRestock(new RestockContext(product, notificationHistory, outbox.getId()));
+    }
+
+    // 재입고 알림 진행 상황 조회
+    public ProductNotificationHistoryDTO getRestockNotification(Long productId, Long historyId) {
+        ProductNotificationHistory notificationHistory = notificationHistoryRepository.findById(historyId)
+                .filter(history -> history.getProduct().getId().equals(productId))
+                .orElseThrow(() -> new ResourceNotFoundException("재입고 알림 기록이 존재하지 않습니다."));
+        return convertToDto(notificationHistory);
+    }
+
+    // 데드레터 재전송 (관리자)
+    // 대기 중인 데드레터를 id 순으로 최대 limit 건 읽어 회차별로 다시 보낸다 (수동 재전송처럼 우선 전송, 재시도/백오프 동일)
+    // 수동 재전송과 같이 재고는 다시 예약하지 않는다
+    // 성공한 사용자는 히스토리를 남기고 REPLAYED 로 바꾸고, 다시 실패한 사용자는 시도 횟수와 원인만 갱신해 대기 상태로 둔다
+    // 재전송에 성공한 수만큼 회차의 실패 수를 성공 수로 옮기고, 회차에 남은 데드레터가 없으면 알림 상태를 COMPLETED_WITH_ERRORS 에서 COMPLETED 로 바꾼다
+    public DeadLetterReplayResultDTO replayDeadLetters(Long productId, int limit) {
+        if (limit <= 0 || limit > deadLetterReplayMaxSize) {
+            throw new IllegalArgumentException("데드레터 재전송 건수는 1 이상 " + deadLetterReplayMaxSize + " 이하여야 합니다: " + limit);
+        }
+        List<NotificationDeadLetter> deadLetters = productId == null
+                ? deadLetterRepository.findByStatusOrderById(NotificationDeadLetter.PENDING, PageRequest.of(0, limit))
+                : deadLetterRepository.findByProductIdAndStatusOrderById(productId, NotificationDeadLetter.PENDING, PageRequest.of(0, limit));
+        log.info("데드레터 재전송 시작 - productId: {}, 건수: {}", productId, deadLetters.size());
+
+        Map<Long, List<NotificationDeadLetter>> byHistory = deadLetters.stream()
+                .collect(Collectors.groupingBy(NotificationDeadLetter::getNotificationHistoryId, LinkedHashMap::new, Collectors.toList()));
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (List<NotificationDeadLetter> historyDeadLetters : byHistory.values()) {
+            Long deadLetterProductId = historyDeadLetters.get(0).getProductId();
+            Product product = productRepository.findById(deadLetterProductId)
+                    .orElseThrow(() -> new ResourceNotFoundException("상품이 존재하지 않습니다."));
+            DispatchLane lane = new DispatchLane(deadLetterProductId, true);
+            for (int from = 0; from < historyDeadLetters.size(); from += senderBatchSize) {
+                List<NotificationDeadLetter> batch = historyDeadLetters.subList(from, Math.min(from + senderBatchSize, historyDeadLetters.size()));
+                List<NotificationSender.Message> messages = batch.stream()
+                        .map(deadLetter -> new NotificationSender.Message(deadLetter.getUserId(), deadLetter.getProductId(), deadLetter.getRestockRound()))
+                        .toList();
+                batches.add(sendWithRetry(lane, manualDispatchWeight, messages, 1).thenAcceptAsync(deliveries -> {
+                    recordDeliveries(product, deliveries);
+                    for (int i = 0; i < deliveries.size(); i++) {
+                        NotificationSender.Delivery delivery = deliveries.get(i);
+                        if (delivery.delivered()) {
+                            batch.get(i).setStatus(NotificationDeadLetter.REPLAYED);
+                        } else {
+                            batch.get(i).recordFailure(retryMaxAttempts, delivery.error());
+                        }
+                    }
+                }, resultExecutor));
+            }
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+
+        notificationHistoryWriter.flush(); // 재전송한 사용자의 히스토리를 먼저 저장한 뒤 데드레터 상태 변경
+        deadLetterRepository.saveAll(deadLetters);
+        for (Map.Entry<Long, List<NotificationDeadLetter>> entry : byHistory.entrySet()) {
+            Long notificationHistoryId = entry.getKey();
+            long replayed = entry.getValue().stream().filter(deadLetter -> NotificationDeadLetter.REPLAYED.equals(deadLetter.getStatus())).count();
+            if (replayed > 0) {
+                notificationHistoryRepository.moveFailedToSent(notificationHistoryId, replayed);
+            }
+            if (!deadLetterRepository.existsByNotificationHistoryIdAndStatus(notificationHistoryId, NotificationDeadLetter.PENDING)) {
+                notificationHistoryRepository.updateStatusIf(notificationHistoryId, "COMPLETED_WITH_ERRORS", "COMPLETED");
+            }
+        }
+
+        DeadLetterReplayResultDTO result = new DeadLetterReplayResultDTO();
+        result.setRequested(deadLetters.size());
+        result.setReplayed((int) deadLetters.stream().filter(deadLetter -> NotificationDeadLetter.REPLAYED.equals(deadLetter.getStatus())).count());
+        result.setFailed(result.getRequested() - result.getReplayed());
+        log.info("데드레터 재전송 완료 - 성공: {}, 실패: {}", result.getReplayed(), result.getFailed());
+        return result;
+    }
+
+    // 알림 전송 후 최종 상태 기록
+    private void runRestock(RestockContext context) {
+        ProductNotificationHistory notificationHistory = context.notificationHistory();
+        NotificationCheckpoint checkpoint = newCheckpoint(notificationHistory);
+        long start = System.nanoTime();
+        try {
+            boolean soldOut = processNotifications(context, notificationHistory, checkpoint); // 알림 전송 처리 (병렬)
+
+            // 알림 상태를 완료(또는 재고 소진으로 중단)로 변경, 데드레터로 남은 사용자가 있으면 COMPLETED_WITH_ERRORS
+            saveCheckpoint(notificationHistory, checkpoint);
+            String status = soldOut ? "CANCELED_BY_SOLD_OUT" : completedStatus(checkpoint.getFailedCount());
+            finalizeNotificationHistory(notificationHistory, status);
+            outboxRepository.updateStatus(context.outboxId(), NotificationOutbox.DONE);
+            restockFlightStore.finish(context.product().getId(), notificationHistory.getId());
+            notificationMetrics.recordFanOut(status, System.nanoTime() - start, checkpoint.getSentCount());
+        } catch (OutboxLeaseLostException e) {
+            // 다른 노드가 작업을 이어받았으므로 상태는 그 노드가 기록한다
+            log.warn("아웃박스 작업 실행 권한을 잃어 전송 중단 - productId: {}, outboxId: {}",
+                    context.product().getId(), context.outboxId());
+        } catch (RuntimeException e) {
+            log.error("재입고 알림 전송 중 에러 - productId: {}", context.product().getId(), e);
+            saveCheckpoint(notificationHistory, checkpoint); // 수동 재전송이 이어서 보낼 수 있도록
+            finalizeNotificationHistory(notificationHistory, "CANCELED_BY_ERROR");
+            outboxRepository.updateStatus(context.outboxId(), NotificationOutbox.FAILED);
+            restockFlightStore.finish(context.product().getId(), notificationHistory.getId());
+            notificationMetrics.recordFanOut("CANCELED_BY_ERROR", System.nanoTime() - start, checkpoint.getSentCount());
+            throw e;
+        }
+    }
+
+    // 준비 트랜잭션 실행
+    // 낙관적 락 모드에서 다른 요청이 먼저 회차를 올렸으면 처음부터 다시 읽어서 최대 optimisticMaxAttempts 번까지 시도
+    private <T> T executeWithRetry(Object target, Supplier<T> prepare) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> prepare.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (!optimisticLocking || attempt >= optimisticMaxAttempts) {
+                    throw e;
+                }
+                notificationMetrics.recordOptimisticRetry();
+                log.debug("재입고 회차 버전 충돌로 재시도 - productId: {}, 시도: {}", target, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    // 충돌한 요청끼리 같은 시점에 다시 부딪히지 않도록 지수적으로 늘어나는 범위에서 임의로 대기 (최대 50ms)
+    private void backOff(int attempt) {
+        long maxMillis = Math.min(50L, 1L << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재입고 알림 준비 재시도 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    // 재입고 알림 준비 (상품/재고 검증, 회차 증가, 알림 기록 초기화, 아웃박스 작업 기록)
+    private RestockContext prepareRestock(Long productId, boolean async) {
         // 상품 및 재고 유효성 검증
         Product product = validateProduct(productId);
-        ProductStock productStock = validateProductStock(productId);
+        ProductStock stock = validateProductStock(productId);
 
         // 재입고 회차 증가
         increaseRestockRound(product);
 
         ProductNotificationHistory notificationHistory = initializeNotificationHistory(product);  // 알림 기록 초기화
-        List<ProductUserNotification> userNotifications = getUserNotifications(productId);      // 활성화된 알림 사용자 목록 가져오기
 
-        validateActiveUsers(userNotifications, notificationHistory);  // 활성화된 사용자가 없을 경우 처리
-        processNotifications(userNotifications, product, productStock, notificationHistory); // 알림 전송 처리 (병렬)
+        validateActiveUsers(productId, notificationHistory);  // 활성화된 사용자가 없을 경우 처리
+
+        // 회차 증가와 같은 트랜잭션에 작업 기록
+        NotificationOutbox outbox = createOutbox(notificationHistory, plannedSends(productId, stock.getStockQuantity()), async);
+        return new RestockContext(product, notificationHistory, outbox.getId());
+    }
 
-        finalizeNotificationHistory(notificationHistory, "COMPLETED");    // 알림 상태를 완료로 변경
+    // 여러 상품 재입고 알림 준비 (한 트랜잭션)
+    // 상품이나 재고가 없는 상품, 구독자가 없는 상품은 회차를 올리지 않고 결과에만 기록
+    private RestockBatchResultDTO prepareRestockBatch(List<Long> productIds) {
+        Map<Long, Product> products = findProducts(productIds);
+        Map<Long, Integer> stockQuantities = findStockQuantities(products.keySet());
+        Set<Long> activeProductIds = stockQuantities.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userNotificationRepository.findProductIdsWithActiveUsers(stockQuantities.keySet()));
 
-        return convertToDto(notificationHistory);
+        RestockBatchResultDTO result = new RestockBatchResultDTO();
+        for (Long productId : productIds) {
+            if (!stockQuantities.containsKey(productId)) {
+                result.getNotFoundProductIds().add(productId);
+                continue;
+            }
+            if (!activeProductIds.contains(productId)) {
+                result.getNoActiveUserProductIds().add(productId);
+                continue;
+            }
+            Product product = products.get(productId);
+            increaseRestockRound(product);
+            ProductNotificationHistory notificationHistory = initializeNotificationHistory(product);
+            createOutbox(notificationHistory, plannedSends(productId, stockQuantities.get(productId)), true);
+            result.getAccepted().add(convertToDto(notificationHistory));
+        }
+        return result;
+    }
+
+    // 여러 상품 조회 (비관적 락 모드에서는 id 순으로 잠금)
+    private Map<Long, Product> findProducts(Collection<Long> productIds) {
+        List<Product> products = optimisticLocking
+                ? productRepository.findAllById(productIds)
+                : notificationMetrics.recordLockWait("product", () -> productRepository.findAllByIdInWithLock(productIds));
+        return products.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    // 재고 정보가 있는 상품의 재고 수량 (비관적 락 모드에서는 재고 행도 상품 id 순으로 잠금)
+    private Map<Long, Integer> findStockQuantities(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        List<ProductStock> stocks = optimisticLocking
+                ? productStockRepository.findAllByProductIdIn(productIds)
+                : notificationMetrics.recordLockWait("stock", () -> productStockRepository.findAllByProductIdInForUpdate(productIds));
+        return stocks.stream().collect(Collectors.toMap(ProductStock::getProductId, ProductStock::getStockQuantity));
+    }
+
+    // 여러 상품 요청 검증 (중복 제거 후 id 순 정렬)
+    private List<Long> validateProductIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("상품 ID 목록이 비어 있습니다.");
+        }
+        if (productIds.size() > batchMaxSize) {
+            throw new IllegalArgumentException("한 번에 요청할 수 있는 상품 수를 초과했습니다: " + productIds.size() + " > " + batchMaxSize);
+        }
+        if (productIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("상품 ID 목록에 빈 값이 있습니다.");
+        }
+        return new ArrayList<>(new TreeSet<>(productIds));
+    }
+
+    // 회차가 보낼 계획 전송 수 (재고와 활성 구독자 수 중 작은 값, 입장 제어가 밀린 전송량으로 센다)
+    // 구독자 캐시가 채워져 있으면 캐시 크기로, 아니면 재고 수까지만 세어 조회 비용이 재고와 구독자 수 중 작은 값을 넘지 않도록
+    private long plannedSends(Long productId, int stockQuantity) {
+        if (stockQuantity <= 0) {
+            return 0;
+        }
+        OptionalInt warmSize = subscriberIndex.getWarmSize(productId);
+        long subscribers = warmSize.isPresent()
+                ? warmSize.getAsInt()
+                : userNotificationRepository.countActiveUsersUpTo(productId, stockQuantity);
+        return Math.min(stockQuantity, subscribers);
+    }
+
+    // 아웃박스 작업 기록
+    // 동기 요청은 요청 스레드가 바로 실행하므로 이 노드 소유로, 비동기 요청은 대기 상태로 기록하고 커밋 후 릴레이를 깨운다
+    private NotificationOutbox createOutbox(ProductNotificationHistory notificationHistory, long plannedSends, boolean async) {
+        NotificationOutbox outbox = new NotificationOutbox();
+        outbox.setProductId(notificationHistory.getProduct().getId());
+        outbox.setNotificationHistoryId(notificationHistory.getId());
+        outbox.setRestockRound(notificationHistory.getRestockRound());
+        outbox.setRemainingSends(plannedSends);
+        if (async) {
+            outbox.setStatus(NotificationOutbox.PENDING);
+        } else {
+            outbox.claim(nodeIdentifier.getId(), LocalDateTime.now().plusSeconds(outboxLeaseSeconds));
+        }
+        outboxRepository.save(outbox);
+        if (async) {
+            eventPublisher.publishEvent(new NotificationOutboxRelay.OutboxCreatedEvent(outbox.getId()));
+        }
+        return outbox;
     }
 
     // 수동 재입고 알림 전송
-    @Transactional
+    // 최근 알림 기록의 체크포인트 다음 사용자부터 청크 단위로 이어서 전송하고, 청크마다 체크포인트를 저장한다
     public void sendRestockNotificationManually(Long productId) {
         log.info("수동 재입고 알림 전송 시작 - productId: {}", productId);
 
-        Product product = validateProduct(productId);  // 상품 검증
-        ProductNotificationHistory latestNotificationHistory = getLatestNotificationHistory(product);    // 최근 알림 기록 가져오기
-        List<ProductUserNotification> userNotifications = getRemainingUserNotifications(productId, latestNotificationHistory);   // 이전 알림 이후 남은 사용자 가져오기
-        sendNotificationsManually(userNotifications, product, latestNotificationHistory);     // 사용자에게 알림 전송
+        RestockContext context = transactionTemplate.execute(status -> {
+            Product product = validateProduct(productId);  // 상품 검증
+            return new RestockContext(product, getLatestNotificationHistory(product), null);    // 최근 알림 기록 가져오기
+        });
+        ProductNotificationHistory latestNotificationHistory = context.notificationHistory();
+        NotificationCheckpoint checkpoint = newCheckpoint(latestNotificationHistory);
+        sendNotificationsManually(context, checkpoint);     // 이전 알림 이후 남은 사용자에게 알림 전송
 
-        // 알림 상태를 완료로 변경
-        finalizeNotificationHistory(latestNotificationHistory, "COMPLETED");
+        // 알림 상태를 완료로 변경 (데드레터로 남은 사용자가 있으면 COMPLETED_WITH_ERRORS)
+        finalizeNotificationHistory(latestNotificationHistory, completedStatus(checkpoint.getFailedCount()));
     }
 
     // 상품 존재 여부 검증
+    // 낙관적 락 모드에서는 잠그지 않고 읽기만 한다 (회차 증가 시 버전으로 충돌 확인)
     Product validateProduct(Long productId) {
-        return productRepository.findByIdWithLock(productId)
+        if (optimisticLocking) {
+            return productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("상품이 존재하지 않습니다."));
+        }
+        return notificationMetrics.recordLockWait("product", () -> productRepository.findByIdWithLock(productId))
                 .orElseThrow(() -> new ResourceNotFoundException("상품이 존재하지 않습니다."));
     }
 
 
     // 재고 정보 검증
     // 재고를 업데이트할 때 비관적 락을 적용하여 동시에 수정하지 않도록
+    // 낙관적 락 모드에서는 재고 행을 잠그지 않음 (재고 차감은 조건부 UPDATE 한 문장으로 처리되므로 준비 단계에서 잠글 필요 없음)
     private ProductStock validateProductStock(Long productId) {
-        return productStockRepository.findByProductIdForUpdate(productId) // 재고 감소 시 비관적 락 사용
+        if (optimisticLocking) {
+            return productStockRepository.findByProductId(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("재고 정보가 존재하지 않습니다."));
+        }
+        return notificationMetrics.recordLockWait("stock", () -> productStockRepository.findByProductIdForUpdate(productId)) // 재고 감소 시 비관적 락 사용
                 .orElseThrow(() -> new ResourceNotFoundException("재고 정보가 존재하지 않습니다."));
     }
 
     // 재입고 회차 증가
+    // 낙관적 락 모드: 읽은 버전 조건으로 한 문장에서 증가 (다른 요청이 먼저 올렸으면 충돌 예외 후 재시도)
     private void increaseRestockRound(Product product) {
+        if (optimisticLocking) {
+            if (productRepository.increaseRestockRoundIfVersion(product.getId(), product.getVersion()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, product.getId());
+            }
+            // UPDATE 후 영속성 컨텍스트에서 분리된 엔티티에 증가된 값 반영 (알림 기록 회차로 사용)
+            product.setRestockRound(product.getRestockRound() + 1);
+            product.setVersion(product.getVersion() + 1);
+            return;
+        }
         product.setRestockRound(product.getRestockRound() + 1);
         productRepository.save(product);
     }
@@ -107,102 +713,356 @@ public class NotificationService {
         return notificationHistory;
     }
 
-    // 활성화된 사용자 목록 가져오기
-    private List<ProductUserNotification> getUserNotifications(Long productId) {
-        return userNotificationRepository.findByProductIdAndIsActiveTrue(productId);
+    // 활성화된 사용자 ID를 afterUserId 다음부터 청크 크기만큼 가져오기 (userId 순)
+    private long[] getUserIdChunk(Long productId, long afterUserId) {
+        return getUserIdChunk(productId, afterUserId, fanOutChunkSize);
+    }
+
+    // 활성화된 사용자 ID를 afterUserId 다음부터 limit 명 가져오기 (userId 순)
+    // 구독자 캐시가 켜져 있으면 캐시에서 잘라 쓰고 (처음 한 번만 DB 조회), 아니면 키셋 페이지네이션으로 조회
+    private long[] getUserIdChunk(Long productId, long afterUserId, int limit) {
+        long[] cached = subscriberIndex.getChunk(productId, afterUserId, limit);
+        if (cached != null) {
+            return cached;
+        }
+        return userNotificationRepository.findActiveUserIdsAfter(productId, afterUserId, PageRequest.of(0, limit))
+                .stream().mapToLong(Long::longValue).toArray();
     }
 
     // 활성화된 사용자 검증
-    private void validateActiveUsers(List<ProductUserNotification> userNotifications, ProductNotificationHistory notificationHistory) {
-        if (userNotifications.isEmpty()) {
+    // 구독자 캐시가 채워져 있으면 캐시로 확인하고 조회하지 않음
+    private void validateActiveUsers(Long productId, ProductNotificationHistory notificationHistory) {
+        OptionalInt warmSize = subscriberIndex.getWarmSize(productId);
+        boolean hasActiveUsers = warmSize.isPresent()
+                ? warmSize.getAsInt() > 0
+                : userNotificationRepository.existsByProductIdAndIsActiveTrue(productId);
+        if (!hasActiveUsers) {
             finalizeNotificationHistory(notificationHistory, "NO_ACTIVE_USERS");
             throw new IllegalStateException("활성화된 알림 사용자가 없습니다.");
         }
     }
 
-    // 병렬로 알림 전송
-    private void processNotifications(List<ProductUserNotification> userNotifications, Product product,
-                                      ProductStock productStock, ProductNotificationHistory notificationHistory) {
-        userNotifications.forEach(userNotification -> executorService.submit(() -> {
-            try {
-                // 속도 제한 확인
-                if (!notificationRateLimiter.tryAcquire()) {
-                    log.warn("알림 속도 제한 초과 - userId: {}, productId: {}", userNotification.getUserId(), product.getId());
-                    return;
+    // 병렬로 알림 전송 (재고가 소진되어 중단되면 true 반환)
+    // 발송 계획: 시작할 때 재고를 한 번 읽어 보낼 수 있는 인원을 정하고, 구독자는 userId 순으로 그 인원만큼만 읽어 전송한다
+    // (재고 10개에 구독자 10만 명이면 10명만 읽고 10건만 전송)
+    // 청크마다 재고를 한 문장으로 예약하므로 다른 요청이 재고를 먼저 가져가면 예약한 수량까지만 보내고 중단한다
+    // 이전 청크가 끝나야 다음 청크를 넣으므로 메모리에는 최대 두 청크만 올라간다
+    private boolean processNotifications(RestockContext context, ProductNotificationHistory notificationHistory,
+                                         NotificationCheckpoint checkpoint) {
+        Product product = context.product();
+        Long lastNotifiedUserId = checkpoint.get();
+        long cursor = lastNotifiedUserId != null ? lastNotifiedUserId : Long.MIN_VALUE; // 재개 시 체크포인트 다음부터 전송
+        long planned = productStockRepository.findStockQuantityByProductId(product.getId()).orElse(0);
+        long reservedTotal = 0;
+        boolean soldOut = false;
+        CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+        while (!soldOut) {
+            int limit = plannedChunkSize(planned, reservedTotal, checkpoint);
+            if (limit == 0) {
+                inFlight.join(); // 전송에 실패해 반환된 재고가 있으면 계획에 다시 포함
+                limit = plannedChunkSize(planned, reservedTotal, checkpoint);
+            }
+            if (limit == 0) {
+                // 계획한 인원을 모두 보냈는데 구독자가 남아 있으면 재고 소진
+                soldOut = getUserIdChunk(product.getId(), cursor, 1).length > 0;
+                if (soldOut) {
+                    log.info("재고 소진으로 알림 중단 - productId: {}, 계획 수량: {}", product.getId(), planned);
                 }
+                break;
+            }
+
+            long[] userIds = getUserIdChunk(product.getId(), cursor, limit);
+            if (userIds.length == 0) {
+                break;
+            }
+            cursor = userIds[userIds.length - 1];
+            boolean lastChunk = userIds.length < limit;
 
-                // 알림 전송
-                sendNotification(userNotification, product);
+            // 청크 인원만큼 재고를 한 문장으로 예약하고, 확보한 수량만큼만 전송
+            int reserved = productStockRepository.reserveStock(product.getId(), userIds.length);
+            reservedTotal += reserved;
+            if (reserved < userIds.length) {
+                log.info("재고 소진으로 알림 중단 - productId: {}, 마지막 예약 수량: {}", product.getId(), reserved);
+                soldOut = true;
+                userIds = Arrays.copyOf(userIds, reserved);
+            }
 
-                // 재고 감소 처리
-                decreaseStock(productStock, notificationHistory);
+            CompletableFuture<Void> chunk = dispatchChunk(userIds, context, notificationHistory, checkpoint);
+            inFlight.join(); // 이전 청크 전송 완료 대기 (다음 청크는 이미 큐에 들어가 있음)
+            inFlight = chunk;
+            extendOutboxLease(context.outboxId(), userIds.length);
 
-                // 마지막 알림 사용자 업데이트
-                notificationHistory.setLastNotifiedUserId(userNotification.getUserId());
-                notificationHistoryRepository.save(notificationHistory);
-            } catch (Exception e) {
-                log.error("알림 전송 중 에러 - userId: {}, productId: {}", userNotification.getUserId(), product.getId(), e);
+            if (lastChunk) {
+                break;
             }
-        }));
+        }
+        inFlight.join(); // 마지막 청크 전송 완료 대기
+        return soldOut;
+    }
+
+    // 다음 청크에서 읽을 구독자 수 (계획 수량 - 예약한 수량 + 전송에 실패해 반환한 수량, 최대 청크 크기)
+    private int plannedChunkSize(long planned, long reservedTotal, NotificationCheckpoint checkpoint) {
+        long remaining = planned - reservedTotal + checkpoint.getFailedCount();
+        return (int) Math.max(0, Math.min(fanOutChunkSize, remaining));
+    }
+
+    // 아웃박스 작업 실행 권한 연장과 디스패처에 넣은 전송 수만큼 남은 계획 차감 (다른 노드가 이미 가져갔으면 중복 전송하지 않도록 중단)
+    private void extendOutboxLease(Long outboxId, int dispatched) {
+        LocalDateTime leaseExpiresAt = LocalDateTime.now().plusSeconds(outboxLeaseSeconds);
+        if (outboxRepository.extendLease(outboxId, nodeIdentifier.getId(), leaseExpiresAt, dispatched) == 0) {
+            throw new OutboxLeaseLostException();
+        }
+    }
+
+    // 한 청크의 사용자들을 전송 묶음(sender batch-size)으로 나눠 디스패처에 제출
+    // 속도 제한을 넘는 묶음은 버리지 않고 디스패처 큐에서 자기 순서의 토큰을 기다린다
+    // 묶음마다 재시도까지 끝나면 성공한 사용자만 히스토리를 남기고, 끝내 실패한 사용자는 데드레터로 기록하고 예약한 재고를 반환한다
+    // 실패한 사용자도 데드레터에 남았으므로 체크포인트에 반영하고, 저장은 flush 주기마다 한 번만 한다
+    private CompletableFuture<Void> dispatchChunk(long[] userIds, RestockContext context,
+                                                  ProductNotificationHistory notificationHistory,
+                                                  NotificationCheckpoint checkpoint) {
+        Product product = context.product();
+        DispatchLane lane = new DispatchLane(product.getId(), false); // 상품별 레인 (다른 상품의 전송과 번갈아 전송)
+        NotificationCheckpoint.Chunk checkpointChunk = checkpoint.register(userIds);
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < userIds.length; from += senderBatchSize) {
+            int offset = from;
+            List<NotificationSender.Message> messages = toMessages(userIds, from, product, notificationHistory);
+            batches.add(sendWithRetry(lane, restockDispatchWeight, messages, 1).thenAcceptAsync(deliveries -> {
+                int failed = recordDeliveries(product, deliveries);
+                checkpoint.recordSent(deliveries.size() - failed);
+                if (failed > 0) {
+                    checkpoint.recordFailed(failed);
+                    saveDeadLetters(notificationHistory, deliveries);
+                    productStockRepository.increaseStock(product.getId(), failed); // 전송하지 못한 사용자 몫으로 예약한 재고 반환
+                }
+                for (int i = 0; i < deliveries.size(); i++) {
+                    checkpoint.complete(checkpointChunk, offset + i);
+                }
+
+                if (checkpoint.isFlushDue()) {
+                    try {
+                        saveCheckpoint(notificationHistory, checkpoint);
+                    } catch (Exception e) {
+                        log.error("체크포인트 저장 중 에러 - productId: {}", product.getId(), e);
+                    }
+                }
+            }, resultExecutor));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new));
     }
 
     // 알림 전송 처리 (수동)
-    private void sendNotificationsManually(List<ProductUserNotification> userNotifications, Product product,
-                                           ProductNotificationHistory notificationHistory) {
-        for (ProductUserNotification userNotification : userNotifications) {
-            sendNotification(userNotification, product);
-            notificationHistory.setLastNotifiedUserId(userNotification.getUserId());
-            notificationHistoryRepository.save(notificationHistory);
+    // 자동 재입고와 같은 디스패처와 속도 제한을 쓰되, manual-weight 만큼 우선해서 내보낸다
+    // 재시도를 모두 실패한 사용자는 데드레터로 기록하고 다음 사용자로 넘어간다 (데드레터 재전송 API 로 다시 보냄)
+    private void sendNotificationsManually(RestockContext context, NotificationCheckpoint checkpoint) {
+        Product product = context.product();
+        ProductNotificationHistory notificationHistory = context.notificationHistory();
+        DispatchLane lane = new DispatchLane(product.getId(), true);
+        Long lastNotifiedUserId = checkpoint.get();
+        long cursor = lastNotifiedUserId != null ? lastNotifiedUserId : Long.MIN_VALUE;
+        while (true) {
+            long[] userIds = getUserIdChunk(product.getId(), cursor);
+            if (userIds.length == 0) {
+                break;
+            }
+            cursor = userIds[userIds.length - 1];
+
+            NotificationCheckpoint.Chunk checkpointChunk = checkpoint.register(userIds);
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < userIds.length; from += senderBatchSize) {
+                int offset = from;
+                List<NotificationSender.Message> messages = toMessages(userIds, from, product, notificationHistory);
+                batches.add(sendWithRetry(lane, manualDispatchWeight, messages, 1).thenAcceptAsync(deliveries -> {
+                    int failed = recordDeliveries(product, deliveries);
+                    checkpoint.recordSent(deliveries.size() - failed);
+                    if (failed > 0) {
+                        checkpoint.recordFailed(failed);
+                        saveDeadLetters(notificationHistory, deliveries);
+                    }
+                    for (int i = 0; i < deliveries.size(); i++) {
+                        checkpoint.complete(checkpointChunk, offset + i);
+                    }
+                }, resultExecutor));
+            }
+            try {
+                CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+            } finally {
+                saveCheckpoint(notificationHistory, checkpoint); // 청크마다 저장 (실패해도 처리된 구간까지는 저장)
+            }
+
+            if (userIds.length < fanOutChunkSize) {
+                break;
+            }
         }
     }
 
-    // 알림 전송
-    private void sendNotification(ProductUserNotification userNotification, Product product) {
-        log.info("알림 전송 시작 - userId: {}, productId: {}", userNotification.getUserId(), product.getId());
-        ProductUserNotificationHistory userNotificationHistory = new ProductUserNotificationHistory();
-        userNotificationHistory.setProduct(product);
-        userNotificationHistory.setUserNotification(userNotification);
-        userNotificationHistory.setUserId(userNotification.getUserId());
-        userNotificationHistory.setRestockRound(product.getRestockRound());
-        userNotificationHistoryRepository.save(userNotificationHistory);
-        log.info("알림 히스토리 저장 완료 - userId: {}, productId: {}", userNotification.getUserId(), product.getId());
+    // 전송 묶음을 보내고, 실패한 메시지만 모아 백오프 후 다시 보낸다 (사용자별 최대 retry.max-attempts 번)
+    // 대기는 타이머(delayedExecutor)로 하므로 워커나 요청 스레드를 붙잡지 않고, 다시 보낼 때도 디스패처에서 토큰을 받는다
+    // 결과는 messages 순서대로 각 메시지의 마지막 시도 결과
+    private CompletableFuture<List<NotificationSender.Delivery>> sendWithRetry(DispatchLane lane, int weight,
+                                                                              List<NotificationSender.Message> messages,
+                                                                              int attempt) {
+        return sendBatch(lane, weight, messages).thenCompose(deliveries -> {
+            List<NotificationSender.Message> failed = deliveries.stream()
+                    .filter(delivery -> !delivery.delivered())
+                    .map(NotificationSender.Delivery::message)
+                    .toList();
+            if (failed.isEmpty() || attempt >= retryMaxAttempts) {
+                return CompletableFuture.completedFuture(deliveries);
+            }
+            notificationMetrics.recordSendRetry(failed.size());
+            long backoffMillis = retryBackoffMillis(attempt);
+            log.debug("알림 전송 실패 {}건 재시도 예정 - 시도: {}, 대기: {}ms", failed.size(), attempt, backoffMillis);
+            return CompletableFuture.runAsync(() -> {
+                    }, CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> sendWithRetry(lane, weight, failed, attempt + 1))
+                    .thenApply(retried -> mergeRetried(deliveries, retried));
+        });
+    }
+
+    // attempt 번째 시도가 실패한 뒤 대기 시간: initial-backoff * 2^(attempt-1) (max-backoff 상한)의 절반 + 나머지 절반 안에서 임의
+    // 같은 시점에 실패한 묶음들이 한꺼번에 다시 몰리지 않도록 지터를 넣는다
+    private long retryBackoffMillis(int attempt) {
+        long ceiling = Math.min(retryMaxBackoffMillis, retryInitialBackoffMillis << Math.min(attempt - 1, 20));
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+
+    // 이전 결과에서 실패한 자리만 재시도 결과로 바꾼다 (retried 는 실패한 메시지 순서대로)
+    private static List<NotificationSender.Delivery> mergeRetried(List<NotificationSender.Delivery> deliveries,
+                                                                  List<NotificationSender.Delivery> retried) {
+        Iterator<NotificationSender.Delivery> retriedIterator = retried.iterator();
+        List<NotificationSender.Delivery> merged = new ArrayList<>(deliveries.size());
+        for (NotificationSender.Delivery delivery : deliveries) {
+            merged.add(delivery.delivered() ? delivery : retriedIterator.next());
+        }
+        return merged;
+    }
+
+    // 재시도를 모두 실패한 사용자를 데드레터로 기록
+    private void saveDeadLetters(ProductNotificationHistory notificationHistory, List<NotificationSender.Delivery> deliveries) {
+        List<NotificationDeadLetter> deadLetters = new ArrayList<>();
+        for (NotificationSender.Delivery delivery : deliveries) {
+            if (delivery.delivered()) {
+                continue;
+            }
+            NotificationDeadLetter deadLetter = new NotificationDeadLetter();
+            deadLetter.setProductId(delivery.message().productId());
+            deadLetter.setNotificationHistoryId(notificationHistory.getId());
+            deadLetter.setRestockRound(delivery.message().restockRound());
+            deadLetter.setUserId(delivery.message().userId());
+            deadLetter.setStatus(NotificationDeadLetter.PENDING);
+            deadLetter.recordFailure(retryMaxAttempts, delivery.error());
+            deadLetters.add(deadLetter);
+        }
+        deadLetterRepository.saveAll(deadLetters);
+        notificationMetrics.recordDeadLetters(deadLetters.size());
+    }
+
+    private static String completedStatus(long failedCount) {
+        return failedCount > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+    }
+
+    // 전송 묶음 하나를 디스패처에 넣는다 (묶음 크기만큼 토큰을 받은 뒤 전송 시작)
+    // 전송 채널에서 난 예외는 묶음 전체 실패로 바꿔 돌려준다 (디스패처 종료로 취소된 경우는 그대로 실패)
+    private CompletableFuture<List<NotificationSender.Delivery>> sendBatch(DispatchLane lane, int weight,
+                                                                          List<NotificationSender.Message> messages) {
+        return notificationDispatcher.submitAsync(lane, weight, messages.size(), () -> {
+            CompletableFuture<List<NotificationSender.Delivery>> sent;
+            try {
+                sent = notificationSender.sendAll(messages);
+            } catch (Exception e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            return sent.exceptionally(e -> messages.stream()
+                    .map(message -> NotificationSender.Delivery.failed(message, e.toString()))
+                    .toList());
+        });
+    }
+
+    // userIds 의 from 번째부터 전송 묶음 하나만큼의 메시지
+    // 재개된 작업은 그 사이 상품 회차가 올라갔을 수 있으므로 알림 기록의 회차를 사용
+    private List<NotificationSender.Message> toMessages(long[] userIds, int from, Product product,
+                                                        ProductNotificationHistory notificationHistory) {
+        int to = Math.min(from + senderBatchSize, userIds.length);
+        List<NotificationSender.Message> messages = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            messages.add(new NotificationSender.Message(userIds[i], product.getId(), notificationHistory.getRestockRound()));
+        }
+        return messages;
     }
 
-    // 재고 감소 처리
-    private void decreaseStock(ProductStock productStock, ProductNotificationHistory notificationHistory) {
-        synchronized (productStock) {
-            if (productStock.getStockQuantity() <= 0) {
-                finalizeNotificationHistory(notificationHistory, "CANCELED_BY_SOLD_OUT");
-                throw new IllegalStateException("재고 부족으로 알림이 중단되었습니다.");
+    // 전송 결과 기록 (재시도 후 최종 결과): 성공한 사용자만 알림 히스토리를 남기고, 실패한 사용자 수를 반환
+    private int recordDeliveries(Product product, List<NotificationSender.Delivery> deliveries) {
+        int failed = 0;
+        for (NotificationSender.Delivery delivery : deliveries) {
+            notificationMetrics.recordSend(delivery.delivered());
+            if (delivery.delivered()) {
+                appendHistory(delivery.message(), product);
+            } else {
+                failed++;
+                log.error("알림 전송 실패 (재시도 초과) - userId: {}, productId: {}, 원인: {}",
+                        delivery.message().userId(), product.getId(), delivery.error());
             }
-            productStock.setStockQuantity(productStock.getStockQuantity() - 1);
-            productStockRepository.save(productStock);
+        }
+        return failed;
+    }
+
+    private NotificationCheckpoint newCheckpoint(ProductNotificationHistory notificationHistory) {
+        return new NotificationCheckpoint(notificationHistory.getLastNotifiedUserId(), checkpointFlushIntervalMillis);
+    }
+
+    // 진행 상황(체크포인트, 성공/실패 수) 저장
+    // 체크포인트까지의 알림 히스토리가 먼저 저장되어 있어야 하므로 버퍼를 비운 뒤 기록한다
+    // 워커는 메모리의 진행 상황만 갱신하므로 히스토리 행 쓰기는 사용자 수와 관계없이 flush 주기마다 한 번이다
+    private void saveCheckpoint(ProductNotificationHistory notificationHistory, NotificationCheckpoint checkpoint) {
+        notificationHistoryWriter.flush();
+        NotificationCheckpoint.Progress progress = checkpoint.drain();
+        if (progress == null) {
+            return;
+        }
+        try {
+            notificationHistoryRepository.saveProgress(notificationHistory.getId(), progress.lastNotifiedUserId(),
+                    progress.sentDelta(), progress.failedDelta());
+        } catch (RuntimeException e) {
+            checkpoint.restore(progress); // 다음 저장에서 다시 반영
+            throw e;
+        }
+        synchronized (notificationHistory) { // 주기 저장과 마지막 저장이 겹쳐도 응답에 쓰는 값을 잃지 않도록
+            notificationHistory.setLastNotifiedUserId(progress.lastNotifiedUserId());
+            notificationHistory.setSentCount(notificationHistory.getSentCount() + progress.sentDelta());
+            notificationHistory.setFailedCount(notificationHistory.getFailedCount() + progress.failedDelta());
         }
     }
 
+    // 전송에 성공한 사용자의 알림 히스토리 추가
+    private void appendHistory(NotificationSender.Message message, Product product) {
+        ProductUserNotificationHistory userNotificationHistory = new ProductUserNotificationHistory();
+        userNotificationHistory.setProduct(product);
+        userNotificationHistory.setUserId(message.userId());
+        userNotificationHistory.setRestockRound(message.restockRound());
+        notificationHistoryWriter.append(userNotificationHistory); // 배치 저장을 위해 버퍼에 추가
+    }
+
     // 최근 알림 기록 가져오기
     private ProductNotificationHistory getLatestNotificationHistory(Product product) {
         return notificationHistoryRepository.findTopByProductOrderByRestockRoundDesc(product)
                 .orElseThrow(() -> new ResourceNotFoundException("재입고 알림 기록이 존재하지 않습니다."));
     }
 
-    // 남은 사용자 목록 가져오기
-    private List<ProductUserNotification> getRemainingUserNotifications(Long productId, ProductNotificationHistory notificationHistory) {
-        Long lastNotifiedUserId = notificationHistory.getLastNotifiedUserId();
-        if (lastNotifiedUserId == null) {
-            return userNotificationRepository.findByProductIdAndIsActiveTrue(productId);
-        }
-        return userNotificationRepository.findByProductIdAndIsActiveTrueAndUserIdGreaterThan(productId, lastNotifiedUserId);
-    }
-
     // 알림 상태를 업데이트
+    // 진행 상황은 saveProgress 로 따로 저장하므로 엔티티를 병합하지 않고 상태만 변경
     private void finalizeNotificationHistory(ProductNotificationHistory notificationHistory, String status) {
         notificationHistory.setNotificationStatus(status);
-        notificationHistoryRepository.save(notificationHistory);
+        notificationHistoryRepository.updateStatus(notificationHistory.getId(), status);
+        notificationMetrics.recordFinished(status);
         log.info("알림 상태 변경 완료 - status: {}", status);
     }
 
     // DTO 변환
+    // 성공/실패 수는 히스토리 행에 저장된 값이므로 전송 중에는 flush 주기만큼 늦게 반영된다
     private ProductNotificationHistoryDTO convertToDto(ProductNotificationHistory notificationHistory) {
         ProductNotificationHistoryDTO dto = new ProductNotificationHistoryDTO();
         dto.setId(notificationHistory.getId());
@@ -210,6 +1070,20 @@ public class NotificationService {
         dto.setRestockRound(notificationHistory.getRestockRound());
         dto.setNotificationStatus(notificationHistory.getNotificationStatus());
         dto.setLastNotifiedUserId(notificationHistory.getLastNotifiedUserId());
+        dto.setSentCount(notificationHistory.getSentCount());
+        dto.setFailedCount(notificationHistory.getFailedCount());
         return dto;
     }
+
+    // 준비 트랜잭션에서 만든 재입고 알림 전송 대상
+    private record RestockContext(Product product, ProductNotificationHistory notificationHistory, Long outboxId) {
+    }
+
+    // 디스패처 레인 키 (상품별 재입고 전송과 수동 재전송을 따로 스케줄링)
+    private record DispatchLane(Long productId, boolean manual) {
+    }
+
+    // 아웃박스 작업 실행 권한을 다른 노드가 가져감
+    private static class OutboxLeaseLostException extends RuntimeException {
+    }
 }
\ No newline at end of file
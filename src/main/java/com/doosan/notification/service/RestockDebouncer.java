@@ -0,0 +1,120 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.RestockBatchResultDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 입고 이벤트로 시작하는 재입고 알림을 상품별로 모아서 한 번만 시작
+// 재고가 0에서 늘어난 상품은 debounce-ms 동안 기다리고, 그 사이 같은 상품에 입고 이벤트가 더 오면 기다리는 시간을 다시 늘린다
+// (팔레트를 50번 나눠 스캔해도 알림 회차는 하나, 최대 max-wait-ms 까지만 미룸)
+// 기다리는 상품은 이 노드의 메모리에만 있으므로, 노드가 내려가면 재입고 알림 API 로 다시 시작해야 한다
+@Slf4j
+@Component
+public class RestockDebouncer {
+
+    private final NotificationService notificationService;
+    private final long debounceNanos;
+    private final long maxWaitNanos;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>(); // 알림 시작을 기다리는 상품
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "restock-debouncer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RestockDebouncer(NotificationService notificationService,
+                            @Value("${notification.stock-event.debounce-ms:500}") long debounceMillis,
+                            @Value("${notification.stock-event.max-wait-ms:5000}") long maxWaitMillis) {
+        this.notificationService = notificationService;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    // 재고가 0에서 늘어난 상품의 재입고 알림 예약 (이미 기다리는 중이면 기다리는 시간만 늘림)
+    public void restocked(Long productId) {
+        long now = System.nanoTime();
+        boolean[] added = {false};
+        pending.compute(productId, (id, waiting) -> {
+            if (waiting != null) {
+                return extend(waiting, now);
+            }
+            added[0] = true;
+            return new Pending(now, now + debounceNanos);
+        });
+        if (added[0]) {
+            scheduler.schedule(this::startDue, debounceNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 기다리는 상품에 입고 이벤트가 더 들어옴
+    public void stockAdded(Long productId) {
+        long now = System.nanoTime();
+        pending.computeIfPresent(productId, (id, waiting) -> extend(waiting, now));
+    }
+
+    // 알림 시작을 기다리는 상품 수
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    // 기다리는 시간이 끝난 상품들의 재입고 알림을 한 번에 시작하고, 남은 상품은 가장 빠른 시각에 다시 확인
+    private void startDue() {
+        long now = System.nanoTime();
+        List<Long> due = new ArrayList<>();
+        long nextDelay = Long.MAX_VALUE;
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            Pending waiting = entry.getValue();
+            if (waiting.deadlineNanos() <= now) {
+                if (pending.remove(entry.getKey(), waiting)) {
+                    due.add(entry.getKey());
+                }
+            } else {
+                nextDelay = Math.min(nextDelay, waiting.deadlineNanos() - now);
+            }
+        }
+        if (nextDelay != Long.MAX_VALUE) {
+            scheduler.schedule(this::startDue, nextDelay, TimeUnit.NANOSECONDS);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            RestockBatchResultDTO result = notificationService.startRestockNotifications(due);
+            log.info("입고 이벤트로 재입고 알림 시작 - 상품: {}, 등록: {}, 진행 중: {}, 구독자 없음: {}, 상품 없음: {}",
+                    due, result.getAccepted().size(), result.getInFlight().size(),
+                    result.getNoActiveUserProductIds(), result.getNotFoundProductIds());
+        } catch (RuntimeException e) {
+            log.error("입고 이벤트로 재입고 알림 시작 중 에러 - 상품: {}", due, e);
+        }
+    }
+
+    // 입고 이벤트가 더 오면 debounce 만큼 다시 기다리되, 처음 입고 후 max-wait 를 넘기지 않음
+    private Pending extend(Pending waiting, long now) {
+        long deadline = Math.min(now + debounceNanos, waiting.firstNanos() + maxWaitNanos);
+        return new Pending(waiting.firstNanos(), Math.max(waiting.deadlineNanos(), deadline));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (!pending.isEmpty()) {
+            log.warn("재입고 알림을 시작하지 못한 상품 - {}", pending.keySet());
+        }
+    }
+
+    // 알림 시작을 기다리는 상품 (처음 입고 시각, 알림 시작 시각)
+    private record Pending(long firstNanos, long deadlineNanos) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.doosan.notification.service;
+
+// 상품별로 진행 중인 재입고 알림 회차 저장소 (single-flight)
+// 먼저 권한을 얻은 요청만 회차를 준비하고, 같은 상품의 다른 요청은 진행 중인 회차를 받아 새 회차를 만들지 않는다
+// notification.single-flight.store: local(인스턴스 메모리) 또는 cluster(restock_flight 테이블로 모든 인스턴스가 공유)
+public interface RestockFlightStore {
+
+    // 회차 준비 권한 획득 (이미 다른 요청이 준비 중이거나 진행 중인 회차가 있으면 false)
+    boolean tryAcquire(Long productId, String token);
+
+    // 준비가 끝난 회차 기록
+    void attach(Long productId, String token, Long notificationHistoryId);
+
+    // 진행 중인 회차 (없으면 null, 준비 중이면 notificationHistoryId 가 null)
+    Flight find(Long productId);
+
+    // 준비에 실패한 요청의 권한 반환
+    void release(Long productId, String token);
+
+    // 회차 종료 (전송이 끝나거나 중단됨)
+    void finish(Long productId, Long notificationHistoryId);
+
+    record Flight(Long notificationHistoryId) {
+    }
+}
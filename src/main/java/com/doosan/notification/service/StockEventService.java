@@ -0,0 +1,99 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.StockEventDTO;
+import com.doosan.notification.dto.StockEventResultDTO;
+import com.doosan.notification.repository.ProductStockBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 창고 시스템의 입고 이벤트 처리
+// 이벤트를 상품별로 합산해 한 트랜잭션에서 재고 행을 잠그고 배치 UPDATE 로 늘린 뒤,
+// 재고가 0에서 늘어난 상품은 RestockDebouncer 에 넘겨 재입고 알림을 한 번만 시작한다
+// 0 -> 양수 전환은 재고 행을 잠근 상태에서 판단하므로 여러 노드에 이벤트가 나눠 들어와도 한 노드만 알림을 예약한다
+@Slf4j
+@Service
+public class StockEventService {
+
+    private final ProductStockBatchRepository productStockBatchRepository;
+    private final RestockDebouncer restockDebouncer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchMaxSize;
+
+    public StockEventService(ProductStockBatchRepository productStockBatchRepository,
+                             RestockDebouncer restockDebouncer,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${notification.stock-event.batch-max-size:1000}") int batchMaxSize) {
+        this.productStockBatchRepository = productStockBatchRepository;
+        this.restockDebouncer = restockDebouncer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    // 입고 이벤트 반영
+    // 재입고 알림 예약은 재고 변경이 커밋된 뒤에 해서, 알림 준비 단계가 늘어난 재고를 읽도록 한다
+    public StockEventResultDTO applyStockEvents(List<StockEventDTO> events) {
+        Map<Long, Integer> quantities = sumByProduct(events);
+
+        StockEventResultDTO result = transactionTemplate.execute(status -> {
+            Map<Long, Integer> current = productStockBatchRepository.lockStockQuantities(quantities.keySet());
+            Map<Long, Integer> increases = new TreeMap<>(quantities);
+            increases.keySet().retainAll(current.keySet());
+            productStockBatchRepository.increaseAll(increases);
+
+            StockEventResultDTO applied = new StockEventResultDTO();
+            applied.setEventCount(events.size());
+            for (Long productId : quantities.keySet()) {
+                Integer before = current.get(productId);
+                if (before == null) {
+                    applied.getNotFoundProductIds().add(productId);
+                    continue;
+                }
+                applied.getUpdatedProductIds().add(productId);
+                if (before <= 0) {
+                    applied.getRestockProductIds().add(productId);
+                }
+            }
+            return applied;
+        });
+
+        for (Long productId : result.getUpdatedProductIds()) {
+            if (result.getRestockProductIds().contains(productId)) {
+                restockDebouncer.restocked(productId);
+            } else {
+                restockDebouncer.stockAdded(productId);
+            }
+        }
+        log.info("입고 이벤트 반영 - 이벤트: {}, 상품: {}, 재입고 예약: {}, 재고 정보 없음: {}",
+                result.getEventCount(), result.getUpdatedProductIds().size(),
+                result.getRestockProductIds(), result.getNotFoundProductIds());
+        return result;
+    }
+
+    // 이벤트 검증 후 상품별 입고 수량 합산 (상품 id 순)
+    private Map<Long, Integer> sumByProduct(List<StockEventDTO> events) {
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("입고 이벤트가 비어 있습니다.");
+        }
+        if (events.size() > batchMaxSize) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 입고 이벤트 수를 초과했습니다: " + events.size() + " > " + batchMaxSize);
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockEventDTO event : events) {
+            if (event == null || event.getProductId() == null) {
+                throw new IllegalArgumentException("입고 이벤트에 상품 ID가 없습니다.");
+            }
+            if (event.getQuantity() == null || event.getQuantity() <= 0) {
+                throw new IllegalArgumentException("입고 수량은 1 이상이어야 합니다: " + event.getQuantity());
+            }
+            quantities.merge(event.getProductId(), event.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,273 @@
+package com.doosan.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 상품별 활성 구독자 ID 캐시 (정렬된 long[])
+// - 재입고 시 처음 조회할 때 user_id 만 읽어서 채우고, 이후 재입고는 구독자 조회 없이 배열에서 청크를 잘라 쓴다
+// - 구독 변경은 커밋 후 증분으로 반영 (applyChanges), 다른 노드의 변경은 ttl 이 지나면 다시 읽어서 반영
+//   커밋 후 콜백은 여러 스레드에서 커밋 순서와 다르게 실행될 수 있으므로, 변경마다 쓴 트랜잭션 안에서 (행 락을 잡은 채로) 순서 번호를 받고
+//   사용자별로 마지막에 반영한 번호보다 오래된 변경은 무시한다 (같은 행을 바꾸는 트랜잭션은 행 락 때문에 커밋 순서대로 번호를 받음)
+//   읽는 중에 들어온 변경이나 읽기 시작 전에 쓴 변경은 읽은 결과에 들어 있는지 알 수 없으므로 그 상품의 캐시를 버린다
+// - 전체 캐시 크기(user ID 수)가 max-user-ids 를 넘으면 가장 오래 쓰지 않은 상품부터 제거
+// notification.subscriber-index.enabled=false (기본) 이면 항상 DB 에서 조회
+@Slf4j
+@Component
+public class SubscriberIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long maxUserIds;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // 접근 순서 (LRU)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong versions = new AtomicLong(); // 구독 변경과 로딩 시작의 순서 번호
+    private long cachedUserIds; // 캐시된 전체 user ID 수
+
+    public SubscriberIndex(JdbcTemplate jdbcTemplate,
+                           @Value("${notification.subscriber-index.enabled:false}") boolean enabled,
+                           @Value("${notification.subscriber-index.max-user-ids:5000000}") long maxUserIds,
+                           @Value("${notification.subscriber-index.ttl-seconds:300}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.maxUserIds = maxUserIds;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // afterUserId 다음부터 limit 명의 구독자 ID (캐시를 쓸 수 없으면 null)
+    public long[] getChunk(Long productId, long afterUserId, int limit) {
+        long[] userIds = getUserIds(productId);
+        if (userIds == null) {
+            return null;
+        }
+        int from = Arrays.binarySearch(userIds, afterUserId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        return Arrays.copyOfRange(userIds, from, Math.min(userIds.length, from + limit));
+    }
+
+    // 이미 캐시된 상품의 구독자 수 (캐시되어 있지 않으면 empty, 새로 읽지 않음)
+    public OptionalInt getWarmSize(Long productId) {
+        if (!enabled) {
+            return OptionalInt.empty();
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null || entry.loading || entry.isExpired(ttlNanos)) {
+                return OptionalInt.empty();
+            }
+            return OptionalInt.of(entry.userIds.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 구독 변경 순서 번호 (변경을 쓴 트랜잭션 안에서 DML 뒤에 받아 커밋 후 applyChanges 에 넘김)
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    // 커밋된 구독 변경 반영 (userId -> 활성 여부, version 은 변경을 쓴 트랜잭션에서 받은 순서 번호)
+    // 캐시되어 있지 않으면 다음에 읽을 때 DB 에서 반영되므로 무시
+    public void applyChanges(Long productId, long version, Map<Long, Boolean> changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                return;
+            }
+            if (entry.loading || version < entry.loadVersion) {
+                remove(productId, entry); // 읽은 결과에 이 변경이 들어 있는지 알 수 없음 (읽는 중이면 읽은 결과를 저장하지 않음)
+                return;
+            }
+            TreeMap<Long, Boolean> applied = new TreeMap<>();
+            changes.forEach((userId, active) -> {
+                Long appliedVersion = entry.appliedVersions.get(userId);
+                if (appliedVersion == null || appliedVersion <= version) { // 더 나중에 커밋된 변경이 이미 반영됐으면 무시
+                    entry.appliedVersions.put(userId, version);
+                    applied.put(userId, active);
+                }
+            });
+            if (applied.isEmpty()) {
+                return;
+            }
+            LongArrayBuilder builder = new LongArrayBuilder();
+            for (long userId : entry.userIds) {
+                if (!applied.containsKey(userId)) {
+                    builder.add(userId);
+                }
+            }
+            applied.forEach((userId, active) -> {
+                if (active) {
+                    builder.add(userId);
+                }
+            });
+            long[] userIds = builder.toDistinctSortedArray(); // 이미 반환한 배열은 바꾸지 않고 새 배열로 교체
+            cachedUserIds += userIds.length - entry.userIds.length;
+            entry.userIds = userIds;
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 상품의 캐시를 버림 (읽는 중이면 읽은 결과를 저장하지 않음)
+    public void evict(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry != null) {
+                remove(productId, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 캐시된 전체 user ID 수
+    public long getCachedUserIds() {
+        lock.lock();
+        try {
+            return cachedUserIds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long[] getUserIds(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(productId);
+            if (entry != null && !entry.loading && !entry.isExpired(ttlNanos)) {
+                return entry.userIds;
+            }
+            if (entry != null && entry.loading) {
+                return null; // 다른 스레드가 읽는 중이면 기다리지 않고 DB 에서 조회
+            }
+            if (entry != null) {
+                cachedUserIds -= entry.userIds.length; // 만료
+            }
+            entry = new Entry(); // 읽는 동안 구독이 바뀌면 applyChanges 에서 제거되어 읽은 결과를 버림
+            entries.put(productId, entry);
+            entry.loadVersion = nextVersion(); // 이보다 먼저 쓴 변경은 읽은 결과에 들어 있는지 알 수 없음
+        } finally {
+            lock.unlock();
+        }
+
+        long[] loaded = load(productId);
+
+        lock.lock();
+        try {
+            if (entries.get(productId) != entry) {
+                return null; // 읽는 동안 제거됨 (구독 변경, 용량 초과)
+            }
+            if (loaded.length > maxUserIds) {
+                entries.remove(productId); // 한 상품이 캐시 한도보다 크면 캐시하지 않음
+                log.info("구독자 수가 캐시 한도보다 많아 캐시하지 않음 - productId: {}, 구독자 수: {}", productId, loaded.length);
+                return null;
+            }
+            entry.userIds = loaded;
+            entry.loadedAt = System.nanoTime();
+            entry.loading = false;
+            cachedUserIds += loaded.length;
+            evictOverflow();
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // user_id 만 primitive 배열로 읽음 (엔티티/박싱 없음)
+    private long[] load(Long productId) {
+        LongArrayBuilder builder = new LongArrayBuilder();
+        jdbcTemplate.query("SELECT user_id FROM product_user_notification " +
+                        "WHERE product_id = ? AND is_active = true ORDER BY user_id",
+                (RowCallbackHandler) rs -> builder.add(rs.getLong(1)), productId);
+        return builder.toDistinctSortedArray();
+    }
+
+    // lock 안에서 호출
+    private void remove(Long productId, Entry entry) {
+        entries.remove(productId);
+        cachedUserIds -= entry.userIds.length;
+    }
+
+    // 가장 오래 쓰지 않은 상품부터 제거 (lock 안에서 호출)
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (cachedUserIds > maxUserIds && iterator.hasNext()) {
+            Map.Entry<Long, Entry> eldest = iterator.next();
+            if (eldest.getValue().loading) {
+                continue;
+            }
+            cachedUserIds -= eldest.getValue().userIds.length;
+            iterator.remove();
+        }
+    }
+
+    // 상품 하나의 구독자 ID
+    private static final class Entry {
+        private long[] userIds = new long[0]; // 정렬, 중복 없음 (변경은 새 배열로 교체하므로 그대로 반환)
+        private final Map<Long, Long> appliedVersions = new HashMap<>(); // 사용자별 마지막으로 반영한 변경의 순서 번호
+        private boolean loading = true;
+        private long loadVersion; // 로딩을 시작할 때 받은 순서 번호
+        private long loadedAt;
+
+        private boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - loadedAt > ttlNanos;
+        }
+    }
+
+    private static final class LongArrayBuilder {
+        private long[] values = new long[64];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toDistinctSortedArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.ProductUserNotification;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+// JPA 로 저장/수정/삭제된 구독 정보를 SubscriberIndex 에 반영
+// 순서 번호는 DML 직후 (행 락을 잡은 채로) 받고, 롤백된 변경이 캐시에 남지 않도록 트랜잭션이 커밋된 뒤에 반영한다
+@Component
+public class SubscriberIndexEntityListener {
+
+    private final ObjectProvider<SubscriberIndex> subscriberIndex; // JPA 슬라이스 테스트처럼 SubscriberIndex 빈이 없는 환경에서도 생성되도록
+
+    public SubscriberIndexEntityListener(ObjectProvider<SubscriberIndex> subscriberIndex) {
+        this.subscriberIndex = subscriberIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(ProductUserNotification userNotification) {
+        afterCommit(userNotification, userNotification.isActive());
+    }
+
+    @PostRemove
+    public void onRemoved(ProductUserNotification userNotification) {
+        afterCommit(userNotification, false);
+    }
+
+    private void afterCommit(ProductUserNotification userNotification, boolean active) {
+        SubscriberIndex index = subscriberIndex.getIfAvailable();
+        if (index == null || !index.isEnabled()) {
+            return;
+        }
+        Long productId = userNotification.getProduct().getId();
+        Map<Long, Boolean> change = Map.of(userNotification.getUserId(), active);
+        long version = index.nextVersion();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.applyChanges(productId, version, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.applyChanges(productId, version, change);
+            }
+        });
+    }
+}
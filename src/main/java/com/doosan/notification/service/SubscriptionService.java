@@ -0,0 +1,123 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.SubscriptionResultDTO;
+import com.doosan.notification.exception.ResourceNotFoundException;
+import com.doosan.notification.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 재입고 알림 구독 추가/해제
+// 단건 요청은 SubscriptionWriter 가 모아서 배치로 저장하고, 대량 요청은 한 트랜잭션에서 배치로 저장한다
+@Slf4j
+@Service
+public class SubscriptionService {
+
+    private final ProductRepository productRepository;
+    private final SubscriptionWriter subscriptionWriter;
+    private final int bulkMaxSize;
+    private final long writeTimeoutMillis;
+
+    public SubscriptionService(ProductRepository productRepository,
+                               SubscriptionWriter subscriptionWriter,
+                               @Value("${notification.subscription.bulk-max-size:10000}") int bulkMaxSize,
+                               @Value("${notification.subscription.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.productRepository = productRepository;
+        this.subscriptionWriter = subscriptionWriter;
+        this.bulkMaxSize = bulkMaxSize;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    // 구독 추가 (이미 구독 중이면 변경 없음, 해제된 구독은 다시 활성화)
+    public SubscriptionResultDTO subscribe(Long productId, Long userId) {
+        return change(productId, userId, true);
+    }
+
+    // 구독 해제
+    public SubscriptionResultDTO unsubscribe(Long productId, Long userId) {
+        return change(productId, userId, false);
+    }
+
+    // 대량 구독 추가
+    public SubscriptionResultDTO subscribeAll(Long productId, List<Long> userIds) {
+        return changeAll(productId, userIds, true);
+    }
+
+    // 대량 구독 해제
+    public SubscriptionResultDTO unsubscribeAll(Long productId, List<Long> userIds) {
+        return changeAll(productId, userIds, false);
+    }
+
+    private SubscriptionResultDTO change(Long productId, Long userId, boolean active) {
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 ID가 없습니다.");
+        }
+        validateProduct(productId);
+        await(subscriptionWriter.submit(productId, userId, active));
+        return toDTO(productId, active, 1);
+    }
+
+    private SubscriptionResultDTO changeAll(Long productId, List<Long> userIds, boolean active) {
+        Set<Long> distinctUserIds = validateUserIds(userIds);
+        validateProduct(productId);
+        long start = System.nanoTime();
+        subscriptionWriter.write(productId, distinctUserIds, active);
+        log.info("대량 구독 변경 완료 - productId: {}, active: {}, 사용자 수: {}, 소요 시간: {}ms",
+                productId, active, distinctUserIds.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return toDTO(productId, active, distinctUserIds.size());
+    }
+
+    private Set<Long> validateUserIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("사용자 ID 목록이 비어 있습니다.");
+        }
+        if (userIds.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 사용자 수를 초과했습니다: " + userIds.size() + " > " + bulkMaxSize);
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("사용자 ID 목록에 빈 값이 있습니다.");
+        }
+        return new TreeSet<>(userIds);
+    }
+
+    private void validateProduct(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("상품이 존재하지 않습니다.");
+        }
+    }
+
+    // 배치 저장이 커밋될 때까지 대기
+    private void await(CompletableFuture<Void> future) {
+        try {
+            future.get(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("구독 변경 저장 대기 중 인터럽트가 발생했습니다.", e);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("구독 변경 저장이 제한 시간 안에 끝나지 않았습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private SubscriptionResultDTO toDTO(Long productId, boolean active, int userCount) {
+        SubscriptionResultDTO dto = new SubscriptionResultDTO();
+        dto.setProductId(productId);
+        dto.setActive(active);
+        dto.setUserCount(userCount);
+        return dto;
+    }
+}
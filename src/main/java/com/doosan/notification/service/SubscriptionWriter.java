@@ -0,0 +1,159 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.repository.ProductUserNotificationBatchRepository;
+import com.doosan.notification.repository.ProductUserNotificationBatchRepository.Subscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// 구독 추가/해제를 배치로 저장하는 writer
+// - 단건 요청(submit)은 큐에 넣고, writer 스레드가 그동안 쌓인 요청을 한 트랜잭션으로 묶어 저장한 뒤 완료를 알린다
+//   (저장 중에 들어온 요청은 다음 배치로 묶이므로 요청이 몰릴수록 트랜잭션당 처리 건수가 늘어남)
+// - 대량 요청(write)은 호출한 스레드에서 바로 한 트랜잭션으로 저장
+// 저장이 커밋된 뒤 SubscriberIndex 에 반영한다 (순서 번호는 저장한 트랜잭션 안에서 받음)
+@Slf4j
+@Component
+public class SubscriptionWriter {
+
+    private static final Comparator<Subscription> KEY_ORDER =
+            Comparator.comparingLong(Subscription::productId).thenComparingLong(Subscription::userId);
+
+    private final ProductUserNotificationBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SubscriberIndex subscriberIndex;
+    private final int batchSize;
+
+    private final BlockingQueue<PendingChange> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "subscription-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SubscriptionWriter(ProductUserNotificationBatchRepository batchRepository,
+                              PlatformTransactionManager transactionManager,
+                              SubscriberIndex subscriberIndex,
+                              @Value("${notification.subscription.batch-size:1000}") int batchSize) {
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.subscriberIndex = subscriberIndex;
+        this.batchSize = batchSize;
+    }
+
+    // writer 스레드 시작 (생성이 끝난 뒤에 시작해야 스레드가 초기화 중인 객체를 보지 않는다)
+    @PostConstruct
+    public void start() {
+        writer.execute(this::drainLoop);
+    }
+
+    // 단건 구독 변경을 큐에 추가 (저장이 커밋되면 완료되는 future 반환)
+    public CompletableFuture<Void> submit(Long productId, Long userId, boolean active) {
+        PendingChange change = new PendingChange(new Subscription(productId, userId), active, new CompletableFuture<>());
+        queue.add(change);
+        return change.future();
+    }
+
+    // 한 상품의 구독 변경을 바로 저장 (대량 요청용)
+    public void write(Long productId, Collection<Long> userIds, boolean active) {
+        Map<Subscription, Boolean> changes = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            changes.put(new Subscription(productId, userId), active);
+        }
+        apply(changes);
+    }
+
+    private void drainLoop() {
+        List<PendingChange> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingChange> batch) {
+        try {
+            Map<Subscription, Boolean> changes = new LinkedHashMap<>();
+            for (PendingChange change : batch) {
+                changes.put(change.subscription(), change.active()); // 같은 사용자의 변경이 여러 번 있으면 마지막 요청 기준
+            }
+            apply(changes);
+            batch.forEach(change -> change.future().complete(null));
+            log.debug("구독 변경 배치 저장 완료 - {}건", batch.size());
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(e);
+                return;
+            }
+            // 한 건 때문에 배치 전체가 실패하지 않도록 한 건씩 다시 저장
+            log.warn("구독 변경 배치 저장 실패, 한 건씩 다시 저장 - {}건", batch.size(), e);
+            for (PendingChange change : batch) {
+                writeBatch(List.of(change));
+            }
+        }
+    }
+
+    private void apply(Map<Subscription, Boolean> changes) {
+        List<Subscription> subscribed = new ArrayList<>();
+        Map<Long, List<Long>> unsubscribed = new TreeMap<>();
+        changes.forEach((subscription, active) -> {
+            if (active) {
+                subscribed.add(subscription);
+            } else {
+                unsubscribed.computeIfAbsent(subscription.productId(), productId -> new ArrayList<>()).add(subscription.userId());
+            }
+        });
+        subscribed.sort(KEY_ORDER); // 동시에 실행되는 배치끼리 같은 순서로 락을 잡도록
+        unsubscribed.values().forEach(userIds -> userIds.sort(null));
+
+        // 행 락을 잡은 채로 순서 번호를 받아, 같은 구독을 바꾼 다른 트랜잭션과 커밋 순서대로 번호가 매겨지도록
+        long version = transactionTemplate.execute(status -> {
+            if (!subscribed.isEmpty()) {
+                batchRepository.upsertActive(subscribed);
+            }
+            unsubscribed.forEach(batchRepository::deactivate);
+            return subscriberIndex.nextVersion();
+        });
+
+        // 커밋 후 상품별로 구독자 캐시에 반영 (writer 스레드와 대량 요청 스레드의 반영 순서가 바뀌어도 오래된 변경은 무시됨)
+        Map<Long, Map<Long, Boolean>> byProduct = new TreeMap<>();
+        changes.forEach((subscription, active) ->
+                byProduct.computeIfAbsent(subscription.productId(), productId -> new LinkedHashMap<>()).put(subscription.userId(), active));
+        byProduct.forEach((productId, productChanges) -> subscriberIndex.applyChanges(productId, version, productChanges));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+        PendingChange change;
+        while ((change = queue.poll()) != null) {
+            change.future().completeExceptionally(new IllegalStateException("서버가 종료되어 구독 변경을 저장하지 못했습니다."));
+        }
+    }
+
+    private record PendingChange(Subscription subscription, boolean active, CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.doosan.notification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// 메시지 묶음을 웹훅 URL 로 POST 하는 전송 채널
+// 본문: {"notifications": [{"userId": 1, "productId": 2, "restockRound": 3}, ...]}, 2xx 응답이면 묶음 전체 성공
+//
+// HttpClient 하나를 공유하여 커넥션을 재사용하고 (HTTP/2 를 지원하면 한 커넥션에서 다중화),
+// sendAsync 로 보내므로 응답을 기다리는 동안 스레드를 붙잡지 않고 다음 묶음을 바로 보낼 수 있다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.sender.type", havingValue = "webhook")
+public class WebhookNotificationSender implements NotificationSender {
+
+    private final ObjectMapper objectMapper;
+    private final URI webhookUri;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+
+    public WebhookNotificationSender(ObjectMapper objectMapper,
+                                     @Value("${notification.sender.webhook.url}") String webhookUrl,
+                                     @Value("${notification.sender.webhook.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                                     @Value("${notification.sender.webhook.request-timeout-ms:5000}") long requestTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.webhookUri = URI.create(webhookUrl);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        log.info("알림 전송 채널: webhook ({})", webhookUri);
+    }
+
+    @Override
+    public CompletableFuture<List<Delivery>> sendAll(List<Message> messages) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(webhookUri)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of("notifications", messages))))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.completedFuture(failAll(messages, e.toString()));
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.warn("웹훅 전송 실패 - {}건, 원인: {}", messages.size(), error.toString());
+                        return failAll(messages, error.toString());
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        log.warn("웹훅 전송 실패 - {}건, 응답 코드: {}", messages.size(), response.statusCode());
+                        return failAll(messages, "HTTP " + response.statusCode());
+                    }
+                    return messages.stream().map(Delivery::ok).toList();
+                });
+    }
+
+    private static List<Delivery> failAll(List<Message> messages, String error) {
+        return messages.stream().map(message -> Delivery.failed(message, error)).toList();
+    }
+}
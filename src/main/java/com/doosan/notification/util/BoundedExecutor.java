@@ -0,0 +1,55 @@
+package com.doosan.notification.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+// 동시에 실행 중인 작업 수를 제한하는 Executor
+// 한도에 도달하면 작업을 넘기는 스레드가 자리가 날 때까지 대기하므로, 가상 스레드처럼 스레드 수에 제한이 없는 실행기에서도
+// DB 커넥션 풀 크기 이상으로 JDBC 작업이 몰리지 않는다
+public class BoundedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Semaphore permits;
+    private final int maxInFlight;
+
+    public BoundedExecutor(Executor delegate, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("동시 실행 한도는 0보다 커야 합니다: " + maxInFlight);
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("작업 대기 중 인터럽트가 발생했습니다.", e);
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 현재 실행 중인 작업 수
+    public int getInFlightCount() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+}
@@ -0,0 +1,215 @@
+package com.doosan.notification.util;
+
+import com.doosan.notification.repository.RateLimitLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.concurrent.TimeUnit;
+
+// 여러 인스턴스가 DB(rate_limit_lease)를 통해 초당 허용 개수를 나눠 쓰는 속도 제한기 (rate.limiter.backend=cluster)
+// 1초 윈도마다 클러스터 전체에서 max.requests 개까지만 임대되고, 각 노드는 block-size 개씩 미리 임대해 두고 로컬에서 꺼내 쓴다
+// (토큰마다 DB 에 가지 않으므로 DB 왕복은 블록 하나에 한 번)
+// - 윈도가 바뀌면 쓰지 않은 임대 토큰은 버린다 (윈도당 클러스터 합계가 max.requests 를 넘지 않도록)
+// - 윈도 안의 n 번째 토큰은 윈도 시작 + n * (1초 / max.requests) 부터 쓸 수 있다
+//   (윈도 전체를 시작 시점에 풀면 윈도 끝과 다음 윈도 시작에 한도의 2배가 몰릴 수 있으므로 로컬 GCRA 처럼 간격을 둔다)
+// - 윈도는 각 노드의 시계(epoch 초)로 나누므로 노드 간 시계가 맞춰져 있어야 한다 (NTP)
+// - DB 에 접근할 수 없으면 fallback-retry-ms 동안 로컬 속도 제한기(fallback-max-requests, 미설정 시 max.requests)로 대체한다
+@Component
+@ConditionalOnProperty(name = "rate.limiter.backend", havingValue = "cluster")
+public class ClusterRateLimiter extends NotificationRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private final RateLimitLeaseRepository leaseRepository;
+    private final String name;             // rate_limit_lease 행 이름 (같은 이름을 쓰는 노드끼리 한도를 나눔)
+    private final int clusterPermitsPerSecond; // 클러스터 전체 초당 허용 개수
+    private final int blockSize;           // 한 번에 임대하는 토큰 수
+    private final long intervalNanos;      // 윈도 안에서 토큰 사이 간격 (1초 / 클러스터 초당 허용 개수)
+    private final long fallbackRetryMillis; // 저장소 장애 시 로컬 속도 제한기를 쓰는 시간
+
+    private long leaseWindow = -1; // 임대한 토큰의 윈도 (epoch 초, this 로 동기화)
+    private int leaseRemaining;    // 그 윈도에서 아직 쓰지 않은 임대 토큰 수
+    private int leaseEnd;          // 마지막으로 임대한 블록의 끝 (윈도 안 순번, 다음에 쓸 토큰 순번 = leaseEnd - leaseRemaining)
+    private volatile long fallbackUntilMillis; // 이 시각까지 로컬 속도 제한기 사용
+
+    public ClusterRateLimiter(RateLimitLeaseRepository leaseRepository,
+                              @Value("${rate.limiter.max.requests:500}") int permitsPerSecond,
+                              @Value("${rate.limiter.burst:0}") int burst,
+                              @Value("${rate.limiter.cluster.name:notification}") String name,
+                              @Value("${rate.limiter.cluster.block-size:50}") int blockSize,
+                              @Value("${rate.limiter.cluster.fallback-max-requests:0}") int fallbackPermitsPerSecond,
+                              @Value("${rate.limiter.cluster.fallback-retry-ms:5000}") long fallbackRetryMillis) {
+        super(fallbackPermitsPerSecond > 0 ? fallbackPermitsPerSecond : permitsPerSecond, burst);
+        this.leaseRepository = leaseRepository;
+        this.name = name;
+        this.clusterPermitsPerSecond = permitsPerSecond;
+        this.blockSize = Math.max(1, Math.min(blockSize, permitsPerSecond));
+        this.intervalNanos = Math.max(1L, TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.fallbackRetryMillis = fallbackRetryMillis;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        logger.info("클러스터 속도 제한 사용. 이름: {}, 클러스터 초당 허용 개수: {}, 임대 블록: {}",
+                name, clusterPermitsPerSecond, blockSize);
+    }
+
+    // 현재 윈도에서 permits 개를 지금 쓸 수 있는지 확인 (토큰 간격이나 다음 윈도를 기다리지 않음)
+    @Override
+    public boolean tryAcquire(int permits) {
+        checkPermits(permits);
+        if (isFallbackActive()) {
+            return super.tryAcquire(permits);
+        }
+        try {
+            boolean acquired;
+            synchronized (this) {
+                acquired = takeFromCurrentWindow(permits);
+            }
+            if (acquired) {
+                recordGranted(permits);
+            } else {
+                recordDenied(permits);
+            }
+            return acquired;
+        } catch (DataAccessException | TransactionException e) {
+            fallBack(e);
+            return super.tryAcquire(permits);
+        }
+    }
+
+    // timeout 안에 permits 를 확보할 수 있으면 true (토큰 간격이 지나거나 윈도가 바뀔 때까지 호출 스레드만 대기)
+    @Override
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            if (tryAcquire(permits)) {
+                return true;
+            }
+            long untilNextWindow = TimeUnit.MILLISECONDS.toNanos(1000 - System.currentTimeMillis() % 1000);
+            long wait = Math.min(untilNextWindow, permits * intervalNanos);
+            if (System.nanoTime() + wait - deadline > 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    // permits 개를 지금 또는 이후 윈도에서 임대하고, 마지막 토큰을 쓸 수 있을 때까지 남은 시간(나노초)을 반환
+    // acquire 는 이 값만큼 호출 스레드를 재운다
+    @Override
+    public long reserve(int permits) {
+        checkPermits(permits);
+        if (isFallbackActive()) {
+            return super.reserve(permits);
+        }
+        try {
+            long delayNanos;
+            synchronized (this) {
+                delayNanos = reserveFromCluster(permits);
+            }
+            recordGranted(permits);
+            return delayNanos;
+        } catch (DataAccessException | TransactionException e) {
+            fallBack(e);
+            return super.reserve(permits);
+        }
+    }
+
+    // 이 노드가 현재 윈도에서 바로 쓸 수 있는 임대 토큰 수 (모니터링 용도)
+    @Override
+    public int availablePermits() {
+        if (isFallbackActive()) {
+            return super.availablePermits();
+        }
+        synchronized (this) {
+            return leaseWindow == currentWindow() ? leaseRemaining : 0;
+        }
+    }
+
+    @Override
+    public int getPermitsPerSecond() {
+        return clusterPermitsPerSecond;
+    }
+
+    // 저장소 장애로 로컬 속도 제한기를 쓰는 중이면 true
+    public boolean isFallbackActive() {
+        return System.currentTimeMillis() < fallbackUntilMillis;
+    }
+
+    // 현재 윈도의 임대 토큰에서 permits 개를 꺼냄
+    // 모자라면 현재 윈도에서 더 임대하고, 클러스터 전체가 다 썼거나 마지막 토큰의 차례가 아직 오지 않았으면 false
+    private boolean takeFromCurrentWindow(int permits) {
+        long now = currentWindow();
+        dropExpiredLease(now);
+        while (leaseWindow == now && leaseRemaining < permits) {
+            RateLimitLeaseRepository.Grant grant = leaseRepository.claim(
+                    name, now, Math.max(permits - leaseRemaining, blockSize), clusterPermitsPerSecond);
+            if (grant.window() != now) {
+                // 이번 윈도는 클러스터 전체에서 다 씀 -> 받은 토큰은 다음 윈도에 사용
+                lease(grant);
+                return false;
+            }
+            leaseRemaining += grant.count();
+            leaseEnd = grant.first() + grant.count();
+        }
+        if (leaseWindow != now || delayNanos(leaseWindow, leaseEnd - leaseRemaining + permits - 1) > 0) {
+            return false;
+        }
+        leaseRemaining -= permits;
+        return true;
+    }
+
+    // permits 개를 임대 토큰에서 꺼내고, 모자라면 토큰이 남은 윈도를 찾아 이어서 임대
+    // 마지막으로 꺼낸 토큰을 쓸 수 있을 때까지 남은 시간(나노초) 반환
+    private long reserveFromCluster(int permits) {
+        dropExpiredLease(currentWindow());
+        int needed = permits;
+        while (true) {
+            int taken = Math.min(needed, leaseRemaining);
+            leaseRemaining -= taken;
+            needed -= taken;
+            if (needed == 0) {
+                return delayNanos(leaseWindow, leaseEnd - leaseRemaining - 1);
+            }
+            lease(leaseRepository.claim(name, leaseWindow, Math.max(needed, blockSize), clusterPermitsPerSecond));
+        }
+    }
+
+    // 새 윈도에서 받은 블록으로 임대 토큰을 교체
+    private void lease(RateLimitLeaseRepository.Grant grant) {
+        leaseWindow = grant.window();
+        leaseRemaining = grant.count();
+        leaseEnd = grant.first() + grant.count();
+    }
+
+    // 지난 윈도의 임대 토큰은 버림
+    private void dropExpiredLease(long now) {
+        if (leaseWindow < now) {
+            leaseWindow = now;
+            leaseRemaining = 0;
+            leaseEnd = 0;
+        }
+    }
+
+    // window 윈도의 index 번째 토큰을 쓸 수 있을 때까지 남은 시간 (나노초, 이미 지났으면 0)
+    private long delayNanos(long window, long index) {
+        long dueNanos = TimeUnit.SECONDS.toNanos(window) + Math.max(0L, index) * intervalNanos;
+        return Math.max(0L, dueNanos - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+    }
+
+    private void fallBack(RuntimeException e) {
+        fallbackUntilMillis = System.currentTimeMillis() + fallbackRetryMillis;
+        logger.warn("속도 제한 저장소에 접근할 수 없어 {}ms 동안 로컬 속도 제한기(초당 {}개)를 사용합니다: {}",
+                fallbackRetryMillis, super.getPermitsPerSecond(), e.toString());
+    }
+
+    private static long currentWindow() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+}
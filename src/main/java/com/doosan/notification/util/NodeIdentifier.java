@@ -0,0 +1,32 @@
+package com.doosan.notification.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// 여러 앱 인스턴스가 같은 DB 를 공유할 때 작업 소유자를 구분하기 위한 노드 ID
+// notification.node-id 가 없으면 호스트 이름 + 임의 값으로 생성
+@Component
+public class NodeIdentifier {
+
+    private final String id;
+
+    public NodeIdentifier(@Value("${notification.node-id:}") String configuredId) {
+        this.id = configuredId.isBlank() ? hostName() + "-" + UUID.randomUUID().toString().substring(0, 8) : configuredId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -1,55 +1,183 @@
 package com.doosan.notification.util;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+// 락 없는(CAS 기반) 토큰 버킷 속도 제한기
+// GCRA(Generic Cell Rate Algorithm) 방식으로 "다음 토큰이 비는 이론적 시각(TAT)" 하나만 AtomicLong 으로 관리한다.
+// - 토큰은 1/rate 초마다 하나씩 채워진다 (1초 고정 윈도우가 아니므로 윈도우 경계에서 2배 허용되는 문제가 없음)
+// - burst 만큼은 한 번에 허용된다
+// 이 인스턴스(JVM) 안에서만 제한하므로, 여러 인스턴스가 나눠 써야 하면 rate.limiter.backend=cluster (ClusterRateLimiter)
 @Component
+@ConditionalOnProperty(name = "rate.limiter.backend", havingValue = "local", matchIfMissing = true)
 public class NotificationRateLimiter {
     private static final Logger logger = LoggerFactory.getLogger(NotificationRateLimiter.class);
 
-    private static final int MAX_REQUESTS_PER_SECOND = 500; // 초당 요청 허용 개수 (하드 코딩)
-
-    private final AtomicInteger requestCount = new AtomicInteger(0); // 현재 요청 수를 저장하는 AtomicInteger (스레드 안전)
-    private long lastResetTime = System.nanoTime(); // 마지막 초기화 시점의 시간 (나노초 단위)
-    private final Lock lock = new ReentrantLock(); // 동시성 제어를 위한 Lock 객체
+    private final int permitsPerSecond; // 초당 허용 개수
+    private final int burst;            // 한 번에 허용 가능한 최대 개수 (버킷 용량)
+    private final long intervalNanos;   // 토큰 1개가 채워지는 시간 (나노초)
+    private final long burstNanos;      // 버킷 용량을 시간으로 환산한 값 (burst * interval)
+    private final LongSupplier nanoClock; // 현재 시각 (System.nanoTime, 테스트에서는 직접 움직이는 시계)
 
+    private final AtomicLong theoreticalArrivalTime; // 다음 토큰이 비는 이론적 시각
+    private final LongAdder grantedPermits = new LongAdder(); // 허용한 토큰 수 (모니터링 용도)
+    private final LongAdder deniedPermits = new LongAdder();  // 거부한 토큰 수 (모니터링 용도)
 
+    @Autowired
+    public NotificationRateLimiter(@Value("${rate.limiter.max.requests:500}") int permitsPerSecond,
+                                   @Value("${rate.limiter.burst:0}") int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
 
+    // nanoClock: System.nanoTime 처럼 단조 증가하는 나노초 시계 (대기는 실제 시간으로 함)
+    public NotificationRateLimiter(int permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("초당 허용 개수는 0보다 커야 합니다: " + permitsPerSecond);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst > 0 ? burst : permitsPerSecond; // 미설정 시 1초 분량을 버스트로 허용
+        this.intervalNanos = Math.max(1L, TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = this.intervalNanos * this.burst;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrivalTime = new AtomicLong(nanoClock.getAsLong());
+    }
 
     @PostConstruct
     public void init() {
-        // 애플리케이션 시작 시 설정된 값 확인
-        logger.info("Rate limiter 초기화됨. 설정된 MAX_REQUESTS_PER_SECOND 값: {}", MAX_REQUESTS_PER_SECOND);
+        // 버킷을 가득 찬 상태로 초기화
+        theoreticalArrivalTime.set(nanoClock.getAsLong());
+        logger.info("Rate limiter 초기화됨. 초당 허용 개수: {}, 버스트: {}", permitsPerSecond, burst);
     }
 
-    // 요청을 허용할 수 있는지 확인
+    // 요청을 허용할 수 있는지 확인 (대기하지 않음)
     public boolean tryAcquire() {
-        long currentTime = System.nanoTime(); // 나노초 단위
-        lock.lock(); // Lock을 획득하여 동시성 제어
-        try {
-            // 1초(1_000_000_000 나노초) 경과 시 요청 카운트를 초기화
-            if ((currentTime - lastResetTime) > 1_000_000_000L) {
-                logger.debug("1초가 경과하여 요청 카운트를 초기화합니다. 현재 요청 수: {}", requestCount.get());
-                requestCount.set(0); // 요청 카운트를 0으로 초기화
-                lastResetTime = currentTime; // 마지막 초기화 시간을 갱신
+        return tryAcquire(1);
+    }
+
+    // permits 개를 한 번에 획득할 수 있는지 확인 (대기하지 않음)
+    // permits 가 burst 보다 크면 항상 false
+    public boolean tryAcquire(int permits) {
+        checkPermits(permits);
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = theoreticalArrivalTime.get();
+            long newTat = later(tat, now) + cost;
+            if (newTat - now > burstNanos) {
+                logger.debug("요청 거부됨. 요청 수: {}, 초당 허용 개수: {}", permits, permitsPerSecond);
+                deniedPermits.add(permits);
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                grantedPermits.add(permits);
+                return true;
+            }
+        }
+    }
+
+    // timeout 안에 permits 를 확보할 수 있으면 예약 후 해당 시점까지 호출 스레드만 대기
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        checkPermits(permits);
+        long timeoutNanos = unit.toNanos(timeout);
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = theoreticalArrivalTime.get();
+            long newTat = later(tat, now) + cost;
+            long waitNanos = Math.max(0L, newTat - now - burstNanos);
+            if (waitNanos > timeoutNanos) {
+                deniedPermits.add(permits);
+                return false;
             }
-            // 현재 요청 수가 허용된 최대 요청 수 이하인지 확인
-            if (requestCount.get() < MAX_REQUESTS_PER_SECOND) {
-                int currentRequest = requestCount.incrementAndGet(); // 요청 수를 증가
-                logger.info("요청 허용됨. 현재 요청 수: {} / {}", currentRequest, MAX_REQUESTS_PER_SECOND);
-                return true; // 요청 허용
-            } else {
-                logger.warn("요청 거부됨. 요청 수 한도 초과: {}/{}", requestCount.get(), MAX_REQUESTS_PER_SECOND);
-                return false; // 요청 거부
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                grantedPermits.add(permits);
+                sleep(waitNanos);
+                return true;
             }
-        } finally {
-            logger.trace("Lock 해제 중...");
-            lock.unlock(); // Lock 해제
+        }
+    }
+
+    // 토큰 1개를 획득할 때까지 호출 스레드만 대기
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    // permits 개를 획득할 때까지 호출 스레드만 대기
+    public void acquire(int permits) throws InterruptedException {
+        sleep(reserve(permits));
+    }
+
+    // permits 개를 예약하고 사용 가능해질 때까지 남은 시간(나노초)을 반환 (0 이면 즉시 사용 가능)
+    // 스레드를 재우지 않으므로 스케줄러가 반환값만큼 지연 실행하는 용도로 사용한다
+    public long reserve(int permits) {
+        checkPermits(permits);
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = theoreticalArrivalTime.get();
+            long newTat = later(tat, now) + cost;
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                grantedPermits.add(permits);
+                return Math.max(0L, newTat - now - burstNanos);
+            }
+        }
+    }
+
+    // 현재 즉시 사용 가능한 토큰 수 (모니터링 용도)
+    public int availablePermits() {
+        long now = nanoClock.getAsLong();
+        long used = later(theoreticalArrivalTime.get(), now) - now;
+        return (int) Math.max(0L, (burstNanos - used) / intervalNanos);
+    }
+
+    // 지금까지 허용한 토큰 수
+    public long getGrantedPermits() {
+        return grantedPermits.sum();
+    }
+
+    // 지금까지 거부한 토큰 수
+    public long getDeniedPermits() {
+        return deniedPermits.sum();
+    }
+
+    public int getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    protected void recordGranted(int permits) {
+        grantedPermits.add(permits);
+    }
+
+    protected void recordDenied(int permits) {
+        deniedPermits.add(permits);
+    }
+
+    private static long later(long tat, long now) {
+        return tat - now > 0 ? tat : now; // nanoTime 은 오버플로우를 고려하여 차이로 비교
+    }
+
+    protected static void checkPermits(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("요청 개수는 0보다 커야 합니다: " + permits);
+        }
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
         }
     }
 }
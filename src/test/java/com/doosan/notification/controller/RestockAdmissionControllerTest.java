@@ -0,0 +1,118 @@
+package com.doosan.notification.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 비동기 재입고 요청이 몰릴 때 아웃박스에 쌓인 회차의 계획 전송량까지 세어 429 와 Retry-After 로 거부하는지 검증 (H2)
+// 비동기 요청은 회차만 등록하고 바로 응답하므로, 디스패처 대기열만 보면 첫 회차의 전송이 시작되기 전에 모든 요청이 들어온다
+// 회차의 계획 전송량은 min(재고, 구독자 수) 이므로 재고가 많아도 구독자가 적은 회차는 대기열을 막지 않는다
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:restock-admission;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:restock-admission-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=50", // 첫 회차(구독자 300명)가 몇 초 동안 끝나지 않도록
+        "notification.admission.max-pending-sends=100"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RestockAdmissionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 다른 테스트가 남긴 회차가 끝날 때까지 대기 (밀린 전송량이 0 에서 시작하도록)
+    @BeforeEach
+    void awaitOpenRounds() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline && countOpenRounds() > 0) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, countOpenRounds(), "이전 테스트의 재입고 회차가 끝나지 않았습니다.");
+    }
+
+    @Test
+    void floodOfAsyncRestockRequestsIsRejectedWithRetryAfter() throws Exception {
+        List<Long> productIds = List.of(95001L, 95002L, 95003L, 95004L, 95005L, 95006L, 95007L, 95008L);
+        insertProduct(productIds.get(0), 1000, 300);
+        for (Long productId : productIds.subList(1, productIds.size())) {
+            insertProduct(productId, 1000, 20);
+        }
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", productIds.get(0)).param("async", "true"))
+                .andExpect(status().isAccepted());
+
+        // 첫 회차가 구독자 300명에게 보낼 계획이므로 (한도 100) 나머지 요청은 회차를 만들지 않고 거부된다
+        for (Long productId : productIds.subList(1, productIds.size())) {
+            MvcResult result = mockMvc.perform(post("/products/{productId}/notifications/re-stock", productId).param("async", "true"))
+                    .andExpect(status().isTooManyRequests())
+                    .andReturn();
+            String retryAfter = result.getResponse().getHeader("Retry-After");
+            assertNotNull(retryAfter, "429 응답에는 Retry-After 가 있어야 합니다.");
+            assertTrue(Long.parseLong(retryAfter) >= 1);
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_outbox WHERE product_id IN (?, ?, ?, ?, ?, ?, ?, ?)", Integer.class, productIds.toArray()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product WHERE id IN (?, ?, ?, ?, ?, ?, ?) AND restock_round > 0", Integer.class,
+                productIds.subList(1, productIds.size()).toArray()));
+    }
+
+    @Test
+    void roundWithStockFarAboveSubscribersDoesNotBlockNextRequest() throws Exception {
+        // 재고 5만 개지만 구독자가 10명이므로 회차가 보낼 계획은 10건 (한도 100)
+        insertProduct(96001L, 50_000, 10);
+        insertProduct(96002L, 50_000, 10);
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 96001L).param("async", "true"))
+                .andExpect(status().isAccepted());
+        // 릴레이가 이미 청크를 넣었으면 0, 아니면 10 (재고 5만 개를 계획으로 세지 않음)
+        assertTrue(jdbcTemplate.queryForObject(
+                "SELECT remaining_sends FROM notification_outbox WHERE product_id = ?", Long.class, 96001L) <= 10);
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 96002L).param("async", "true"))
+                .andExpect(status().isAccepted());
+
+        awaitOpenRounds();
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(remaining_sends), 0) FROM notification_outbox WHERE product_id IN (?, ?)", Long.class, 96001L, 96002L),
+                "끝난 회차는 남은 계획 전송이 없어야 합니다.");
+    }
+
+    private long countOpenRounds() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_outbox WHERE status IN ('PENDING', 'PROCESSING')", Long.class);
+    }
+
+    private void insertProduct(long productId, int stock, int subscribers) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, ?, NOW())", productId, stock);
+        List<Object[]> rows = new ArrayList<>();
+        for (int userId = 1; userId <= subscribers; userId++) {
+            rows.add(new Object[]{productId, userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, true, NOW(), NOW())", rows);
+    }
+}
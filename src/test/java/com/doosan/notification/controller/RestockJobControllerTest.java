@@ -0,0 +1,212 @@
+package com.doosan.notification.controller;
+
+import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+import com.doosan.notification.dto.RestockBatchResultDTO;
+import com.doosan.notification.exception.DispatchSaturatedException;
+import com.doosan.notification.exception.RestockRoundFailedException;
+import com.doosan.notification.service.DispatchAdmission;
+import com.doosan.notification.service.IdempotencyService;
+import com.doosan.notification.service.LocalIdempotencyStore;
+import com.doosan.notification.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(NotificationController.class)
+@MockBean(JpaMetamodelMappingContext.class) // @EnableJpaAuditing 이 웹 슬라이스 테스트에서도 JPA 메타모델을 요구하므로
+@Import({IdempotencyService.class, LocalIdempotencyStore.class})
+public class RestockJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private DispatchAdmission dispatchAdmission;
+
+    @Test
+    void asyncRestockReturnsAcceptedWithHistoryLocation() throws Exception {
+        when(notificationService.startRestockNotification(1L)).thenReturn(history("IN_PROGRESS", 0, null));
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L).param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/products/1/notifications/re-stock/10"))
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.notificationStatus").value("IN_PROGRESS"));
+
+        verify(notificationService, never()).sendRestockNotification(anyLong());
+    }
+
+    @Test
+    void restockProgressCanBePolled() throws Exception {
+        when(notificationService.getRestockNotification(1L, 10L)).thenReturn(history("IN_PROGRESS", 120, 345L));
+
+        mockMvc.perform(get("/products/{productId}/notifications/re-stock/{historyId}", 1L, 10L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sentCount").value(120))
+                .andExpect(jsonPath("$.lastNotifiedUserId").value(345));
+    }
+
+    @Test
+    void syncRestockStillReturnsOk() throws Exception {
+        when(notificationService.sendRestockNotification(1L)).thenReturn(history("COMPLETED", 500, 500L));
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notificationStatus").value("COMPLETED"));
+    }
+
+    @Test
+    void syncRestockStillRunningAfterJoinTimeoutReturnsAcceptedWithLocation() throws Exception {
+        when(notificationService.sendRestockNotification(1L)).thenReturn(history("IN_PROGRESS", 120, 345L));
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/products/1/notifications/re-stock/10"))
+                .andExpect(jsonPath("$.notificationStatus").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void batchRestockAcceptsManyProductsInOneRequest() throws Exception {
+        RestockBatchResultDTO result = new RestockBatchResultDTO();
+        result.getAccepted().add(history("IN_PROGRESS", 0, null));
+        result.getNotFoundProductIds().add(3L);
+        when(notificationService.startRestockNotifications(List.of(1L, 3L))).thenReturn(result);
+
+        mockMvc.perform(post("/products/notifications/re-stock:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\": [1, 3]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted[0].productId").value(1))
+                .andExpect(jsonPath("$.notFoundProductIds[0]").value(3));
+    }
+
+    @Test
+    void retryWithSameIdempotencyKeyReplaysOriginalResponse() throws Exception {
+        when(notificationService.startRestockNotification(1L)).thenReturn(history("IN_PROGRESS", 0, null));
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L).param("async", "true")
+                        .header("Idempotency-Key", "retry-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        when(notificationService.startRestockNotification(1L)).thenReturn(history("COMPLETED", 500, 500L));
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L).param("async", "true")
+                        .header("Idempotency-Key", "retry-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", "http://localhost/products/1/notifications/re-stock/10"))
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.notificationStatus").value("IN_PROGRESS"));
+
+        verify(notificationService, times(1)).startRestockNotification(1L);
+    }
+
+    @Test
+    void manualRestockRunsOncePerIdempotencyKey() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/products/admin/{productId}/notifications/re-stock", 2L)
+                            .header("Idempotency-Key", "manual-2"))
+                    .andExpect(status().isOk());
+        }
+
+        verify(notificationService, times(1)).sendRestockNotificationManually(2L);
+    }
+
+    @Test
+    void idempotencyKeyUsedForAnotherRequestIsRejected() throws Exception {
+        when(notificationService.sendRestockNotification(1L)).thenReturn(history("COMPLETED", 500, 500L));
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L).header("Idempotency-Key", "shared"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 3L).header("Idempotency-Key", "shared"))
+                .andExpect(status().isBadRequest());
+
+        verify(notificationService, never()).sendRestockNotification(3L);
+    }
+
+    @Test
+    void failedRequestReleasesIdempotencyKey() throws Exception {
+        when(notificationService.sendRestockNotification(4L))
+                .thenThrow(new IllegalArgumentException("일시적 오류"))
+                .thenReturn(history("COMPLETED", 500, 500L));
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 4L).header("Idempotency-Key", "failed-once"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 4L).header("Idempotency-Key", "failed-once"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.notificationStatus").value("COMPLETED"));
+    }
+
+    @Test
+    void retryAfterRoundFailedReplaysFailedRoundInsteadOfStartingAnother() throws Exception {
+        when(notificationService.sendRestockNotification(5L))
+                .thenThrow(new RestockRoundFailedException(history("CANCELED_BY_ERROR", 120, 345L), new IllegalStateException("전송 채널 장애")));
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 5L).header("Idempotency-Key", "round-failed"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.notificationStatus").value("CANCELED_BY_ERROR"));
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 5L).header("Idempotency-Key", "round-failed"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.sentCount").value(120));
+
+        verify(notificationService, times(1)).sendRestockNotification(5L); // 회차가 이미 있으므로 다시 실행하지 않음
+    }
+
+    @Test
+    void saturatedDispatchRejectsRestockWithRetryAfter() throws Exception {
+        doThrow(new DispatchSaturatedException("전송 대기열 포화", 12)).when(dispatchAdmission).admit();
+        doThrow(new DispatchSaturatedException("전송 대기열 포화", 12)).when(dispatchAdmission).admit(2);
+
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L).param("async", "true")
+                        .header("Idempotency-Key", "saturated"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+        mockMvc.perform(post("/products/notifications/re-stock:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\": [1, 3]}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+        verify(dispatchAdmission).admit(2); // 여러 상품 요청은 상품 수만큼의 회차로 판단
+        mockMvc.perform(post("/products/admin/{productId}/notifications/re-stock", 1L))
+                .andExpect(status().isTooManyRequests());
+        verifyNoInteractions(notificationService);
+
+        // 거부된 요청은 Idempotency-Key 를 반환하므로 여유가 생기면 같은 키로 다시 보낼 수 있다
+        doNothing().when(dispatchAdmission).admit();
+        when(notificationService.startRestockNotification(1L)).thenReturn(history("IN_PROGRESS", 0, null));
+        mockMvc.perform(post("/products/{productId}/notifications/re-stock", 1L).param("async", "true")
+                        .header("Idempotency-Key", "saturated"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    private ProductNotificationHistoryDTO history(String status, long sentCount, Long lastNotifiedUserId) {
+        ProductNotificationHistoryDTO dto = new ProductNotificationHistoryDTO();
+        dto.setId(10L);
+        dto.setProductId(1L);
+        dto.setRestockRound(1);
+        dto.setNotificationStatus(status);
+        dto.setSentCount(sentCount);
+        dto.setLastNotifiedUserId(lastNotifiedUserId);
+        return dto;
+    }
+}
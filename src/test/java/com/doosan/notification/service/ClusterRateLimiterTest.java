@@ -0,0 +1,155 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.InventoryNotificationSystemApplication;
+import com.doosan.notification.util.ClusterRateLimiter;
+import com.doosan.notification.util.NotificationRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 같은 H2 DB 를 쓰는 스프링 컨텍스트 두 개(인스턴스 두 대)가 클러스터 속도 제한을 나눠 쓰는지, 저장소 장애 시 로컬로 대체하는지 검증
+@Slf4j
+public class ClusterRateLimiterTest {
+
+    private static final int CLUSTER_PERMITS_PER_SECOND = 100;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    public static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    public static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    public void nodesShareOneClusterWideRate() throws Exception {
+        ClusterRateLimiter limiterA = (ClusterRateLimiter) nodeA.getBean(NotificationRateLimiter.class);
+        ClusterRateLimiter limiterB = (ClusterRateLimiter) nodeB.getBean(NotificationRateLimiter.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            long startSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+            long deadline = System.currentTimeMillis() + 2_500;
+            List<Future<Integer>> grantedA = new ArrayList<>();
+            List<Future<Integer>> grantedB = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                grantedA.add(executor.submit(() -> drain(limiterA, deadline)));
+                grantedB.add(executor.submit(() -> drain(limiterB, deadline)));
+            }
+            int totalA = sum(grantedA);
+            int totalB = sum(grantedB);
+            long windows = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - startSecond + 1;
+            log.info("클러스터 속도 제한 - 윈도: {}, node-a: {}, node-b: {}, 한도: {}",
+                    windows, totalA, totalB, CLUSTER_PERMITS_PER_SECOND * windows);
+
+            assertTrue(totalA + totalB <= CLUSTER_PERMITS_PER_SECOND * windows,
+                    "두 노드 합계가 윈도당 클러스터 한도를 넘으면 안 된다: " + (totalA + totalB));
+            assertTrue(totalA + totalB >= CLUSTER_PERMITS_PER_SECOND * (windows - 1),
+                    "클러스터 한도만큼은 허용되어야 한다: " + (totalA + totalB));
+            assertTrue(totalA > 0 && totalB > 0, "두 노드 모두 토큰을 받아야 한다.");
+            assertFalse(limiterA.isFallbackActive());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void spacesGrantsSoWindowEdgeDoesNotDoubleTheRate() throws Exception {
+        ClusterRateLimiter limiter = (ClusterRateLimiter) nodeA.getBean(NotificationRateLimiter.class);
+
+        // 윈도 끝 100ms 전부터 다음 윈도 시작 후 100ms 까지 쉬지 않고 요청
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 900);
+        int granted = drain(limiter, System.currentTimeMillis() + 200);
+
+        // 윈도 전체를 시작 시점에 풀면 앞 윈도의 남은 토큰(최대 100) + 다음 윈도의 100 개가 200ms 안에 나간다
+        // 간격을 두면 다음 윈도에서는 100ms 동안 채워진 만큼(약 10개)만 더 나간다
+        assertTrue(granted <= CLUSTER_PERMITS_PER_SECOND * 12 / 10,
+                "윈도 경계에서 한도의 2배까지 허용되면 안 된다: " + granted);
+        assertTrue(granted > 0);
+    }
+
+    @Test
+    public void fallsBackToLocalLimiterWhileStoreIsUnavailable() throws Exception {
+        ClusterRateLimiter limiter = (ClusterRateLimiter) nodeA.getBean(NotificationRateLimiter.class);
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.execute("ALTER TABLE rate_limit_lease RENAME TO rate_limit_lease_unavailable");
+        try {
+            Thread.sleep(1_000); // 이미 임대한 토큰이 있는 윈도를 지나서 저장소에 가도록
+            assertTrue(limiter.tryAcquire(), "저장소 장애 시 로컬 속도 제한기로 허용해야 한다.");
+            assertTrue(limiter.isFallbackActive());
+            assertTrue(limiter.reserve(1) >= 0);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE rate_limit_lease_unavailable RENAME TO rate_limit_lease");
+        }
+
+        Thread.sleep(300); // fallback-retry-ms 이후 다시 저장소 사용
+        assertTrue(limiter.tryAcquire(10, 2, TimeUnit.SECONDS));
+        assertFalse(limiter.isFallbackActive());
+    }
+
+    private static int drain(NotificationRateLimiter limiter, long deadline) {
+        int granted = 0;
+        while (System.currentTimeMillis() < deadline) {
+            if (limiter.tryAcquire()) {
+                granted++;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return granted;
+    }
+
+    private static int sum(List<Future<Integer>> futures) throws Exception {
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        return total;
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeName) {
+        return new SpringApplicationBuilder(InventoryNotificationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:cluster-rate-limiter;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "jdbcURL=jdbc:h2:mem:cluster-rate-limiter-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+                        "dbUser=sa",
+                        "dbPassword=",
+                        "spring.application.name=" + nodeName,
+                        "rate.limiter.backend=cluster",
+                        "rate.limiter.max.requests=" + CLUSTER_PERMITS_PER_SECOND,
+                        "rate.limiter.cluster.block-size=10",
+                        "rate.limiter.cluster.fallback-max-requests=20",
+                        "rate.limiter.cluster.fallback-retry-ms=200")
+                .run();
+    }
+}
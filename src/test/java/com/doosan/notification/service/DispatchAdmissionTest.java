@@ -0,0 +1,99 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.exception.DispatchSaturatedException;
+import com.doosan.notification.repository.NotificationOutboxRepository;
+import com.doosan.notification.util.NotificationRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// 전송 대기열과 아웃박스에 쌓인 회차에 따른 재입고 요청 입장 제어와 Retry-After 계산 검증
+public class DispatchAdmissionTest {
+
+    private NotificationDispatcher dispatcher;
+    private NotificationOutboxRepository outboxRepository;
+    private NotificationRateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher = mock(NotificationDispatcher.class);
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        rateLimiter = mock(NotificationRateLimiter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(rateLimiter.getPermitsPerSecond()).thenReturn(100);
+    }
+
+    @Test
+    public void admitsWhileBacklogIsBelowLimit() {
+        when(dispatcher.getPendingPermits()).thenReturn(19_999L);
+
+        assertDoesNotThrow(() -> admission(20_000).admit());
+        assertEquals(0, meterRegistry.counter("notification.admission.rejected").count());
+    }
+
+    @Test
+    public void rejectsWithRetryAfterFromCurrentDrainRate() {
+        when(dispatcher.getPendingPermits()).thenReturn(25_000L);
+        when(dispatcher.getDrainRate()).thenReturn(500.0);
+
+        DispatchSaturatedException rejected = assertThrows(DispatchSaturatedException.class, () -> admission(20_000).admit());
+
+        assertEquals(11, rejected.getRetryAfterSeconds(), "한도 아래로 내려갈 5001건 / 초당 500건 = 11초");
+        assertEquals(1, meterRegistry.counter("notification.admission.rejected").count());
+    }
+
+    @Test
+    public void countsPlannedSendsOfOpenOutboxRounds() {
+        when(dispatcher.getPendingPermits()).thenReturn(5_000L);
+        when(outboxRepository.sumRemainingSendsOfOpenRounds()).thenReturn(15_000L);
+        when(dispatcher.getDrainRate()).thenReturn(500.0);
+
+        DispatchSaturatedException rejected = assertThrows(DispatchSaturatedException.class, () -> admission(20_000).admit());
+
+        assertEquals(1, rejected.getRetryAfterSeconds(), "디스패처 5000건 + 아직 넣지 않은 계획 15000건 = 한도 20000건");
+    }
+
+    @Test
+    public void admitsBatchByNumberOfRounds() {
+        when(outboxRepository.countOpenRounds()).thenReturn(90L);
+        when(outboxRepository.sumRemainingSendsOfOpenRounds()).thenReturn(1_000L);
+        when(dispatcher.getDrainRate()).thenReturn(500.0);
+        DispatchAdmission admission = new DispatchAdmission(dispatcher, outboxRepository, rateLimiter,
+                new NotificationMetrics(meterRegistry), 20_000, 100, 60);
+
+        assertDoesNotThrow(() -> admission.admit(10));
+        DispatchSaturatedException rejected = assertThrows(DispatchSaturatedException.class, () -> admission.admit(11));
+        assertEquals(2, rejected.getRetryAfterSeconds(), "밀린 1000건 / 초당 500건 = 2초");
+
+        when(outboxRepository.countOpenRounds()).thenReturn(0L);
+        assertDoesNotThrow(() -> admission.admit(500), "끝나지 않은 회차가 없으면 한도보다 큰 요청도 받음");
+    }
+
+    @Test
+    public void usesConfiguredRateBeforeAnythingIsDrainedAndCapsRetryAfter() {
+        when(dispatcher.getDrainRate()).thenReturn(0.0);
+        DispatchAdmission admission = admission(20_000);
+
+        assertEquals(1, admission.retryAfterSeconds(20_000), "최소 1초");
+        assertEquals(3, admission.retryAfterSeconds(20_250), "초당 100건 (속도 제한기 설정값) 기준");
+        assertEquals(60, admission.retryAfterSeconds(1_000_000), "max-retry-after-seconds 로 제한");
+    }
+
+    @Test
+    public void admitsEverythingWhenDisabled() {
+        when(dispatcher.getPendingPermits()).thenReturn(Long.MAX_VALUE);
+
+        assertDoesNotThrow(() -> admission(0).admit());
+        verify(dispatcher, never()).getPendingPermits();
+        verifyNoInteractions(outboxRepository);
+    }
+
+    private DispatchAdmission admission(long maxPendingSends) {
+        return new DispatchAdmission(dispatcher, outboxRepository, rateLimiter, new NotificationMetrics(meterRegistry),
+                maxPendingSends, 10_000, 60);
+    }
+}
@@ -0,0 +1,88 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Idempotency-Key 저장소 (local, cluster) 의 선점, 응답 재사용, 키 반환, 만료 검증 (H2 MySQL 모드)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdempotencyRecordRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 저장소가 문장마다 커밋하는 실제 사용 방식대로
+public class IdempotencyStoreTest {
+
+    private static final long TTL_SECONDS = 1;
+    private static final long PENDING_TIMEOUT_MILLIS = 200;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    public void replaysCompletedResponseOnlyForTheSameKey() {
+        for (IdempotencyStore store : stores()) {
+            String key = store.getClass().getSimpleName() + "-replay";
+            IdempotencyStore.Response response = new IdempotencyStore.Response(202, "/products/1/notifications/re-stock/10", "{\"id\":10}");
+
+            assertNull(store.begin(key, "POST /products/1/notifications/re-stock"), "처음 요청은 키를 선점해야 한다.");
+            IdempotencyStore.Entry pending = store.begin(key, "POST /products/1/notifications/re-stock");
+            assertNotNull(pending);
+            assertNull(pending.response(), "처리 중인 키는 응답이 없어야 한다.");
+
+            store.complete(key, response);
+            IdempotencyStore.Entry replay = store.begin(key, "POST /products/1/notifications/re-stock");
+            assertEquals(response, replay.response());
+            assertEquals("POST /products/1/notifications/re-stock", replay.fingerprint());
+        }
+    }
+
+    @Test
+    public void releasedOrAbandonedKeyCanBeTakenAgain() throws Exception {
+        for (IdempotencyStore store : stores()) {
+            String released = store.getClass().getSimpleName() + "-released";
+            assertNull(store.begin(released, "POST /a"));
+            store.release(released);
+            assertNull(store.begin(released, "POST /a"), "실패한 요청이 반환한 키는 다시 선점할 수 있어야 한다.");
+
+            String abandoned = store.getClass().getSimpleName() + "-abandoned";
+            assertNull(store.begin(abandoned, "POST /a"));
+            assertNotNull(store.begin(abandoned, "POST /a"));
+            Thread.sleep(PENDING_TIMEOUT_MILLIS + 100); // 처리 중에 노드가 내려간 경우
+            assertNull(store.begin(abandoned, "POST /a"), "pending-timeout 이 지난 키는 다시 선점할 수 있어야 한다.");
+        }
+    }
+
+    @Test
+    public void evictsResponsesAfterTtl() throws Exception {
+        for (IdempotencyStore store : stores()) {
+            String key = store.getClass().getSimpleName() + "-ttl";
+            assertNull(store.begin(key, "POST /a"));
+            store.complete(key, new IdempotencyStore.Response(200, null, null));
+            store.evictExpired();
+            assertNotNull(store.begin(key, "POST /a").response(), "ttl 안에서는 응답이 남아 있어야 한다.");
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(TTL_SECONDS) + 100);
+            assertTrue(store.evictExpired() >= 1, "ttl 이 지난 응답은 삭제되어야 한다.");
+            assertNull(store.begin(key, "POST /a"));
+        }
+    }
+
+    private List<IdempotencyStore> stores() {
+        return List.of(
+                new LocalIdempotencyStore(TTL_SECONDS, PENDING_TIMEOUT_MILLIS),
+                new ClusterIdempotencyStore(idempotencyRecordRepository, TTL_SECONDS, PENDING_TIMEOUT_MILLIS));
+    }
+}
@@ -0,0 +1,75 @@
+package com.doosan.notification.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationCheckpointTest {
+
+    @Test
+    public void shouldAdvanceOnlyOverContiguousCompletedUsers() {
+        NotificationCheckpoint checkpoint = new NotificationCheckpoint(null, 1000);
+        NotificationCheckpoint.Chunk first = checkpoint.register(new long[]{10, 20, 30});
+        NotificationCheckpoint.Chunk second = checkpoint.register(new long[]{40, 50});
+
+        // 뒤쪽 사용자가 먼저 끝나도 앞선 사용자가 남아 있으면 체크포인트는 움직이지 않는다
+        checkpoint.complete(second, 0);
+        checkpoint.complete(first, 2);
+        assertNull(checkpoint.get());
+
+        checkpoint.complete(first, 0);
+        assertEquals(10L, checkpoint.get());
+
+        // 첫 청크가 모두 끝나면 이미 끝난 다음 청크 사용자까지 한 번에 올라간다
+        checkpoint.complete(first, 1);
+        assertEquals(40L, checkpoint.get());
+
+        checkpoint.complete(second, 1);
+        assertEquals(50L, checkpoint.get());
+    }
+
+    @Test
+    public void shouldStartFromPreviousCheckpoint() {
+        NotificationCheckpoint checkpoint = new NotificationCheckpoint(100L, 1000);
+        NotificationCheckpoint.Chunk chunk = checkpoint.register(new long[]{101, 102});
+
+        checkpoint.complete(chunk, 1);
+        assertEquals(100L, checkpoint.get(), "처리되지 않은 사용자를 건너뛰면 안 된다.");
+    }
+
+    @Test
+    public void shouldDrainCountsSinceLastFlush() {
+        NotificationCheckpoint checkpoint = new NotificationCheckpoint(null, 1000);
+        NotificationCheckpoint.Chunk chunk = checkpoint.register(new long[]{1, 2, 3, 4});
+        checkpoint.recordSent(2);
+        assertNull(checkpoint.drain(), "처리된 사용자가 없으면 저장할 진행 상황도 없다.");
+
+        checkpoint.complete(chunk, 0);
+        checkpoint.complete(chunk, 1);
+        NotificationCheckpoint.Progress first = checkpoint.drain();
+        assertEquals(new NotificationCheckpoint.Progress(2L, 2, 0), first);
+
+        checkpoint.recordSent(1);
+        checkpoint.recordFailed(1);
+        checkpoint.complete(chunk, 2);
+        checkpoint.complete(chunk, 3);
+        NotificationCheckpoint.Progress second = checkpoint.drain();
+        assertEquals(new NotificationCheckpoint.Progress(4L, 1, 1), second);
+
+        // 저장에 실패하면 다음 저장에 다시 포함
+        checkpoint.restore(second);
+        assertEquals(new NotificationCheckpoint.Progress(4L, 1, 1), checkpoint.drain());
+        assertEquals(3, checkpoint.getSentCount());
+        assertEquals(1, checkpoint.getFailedCount());
+    }
+
+    @Test
+    public void shouldReportFlushDueOncePerInterval() throws InterruptedException {
+        NotificationCheckpoint checkpoint = new NotificationCheckpoint(null, 50);
+        assertFalse(checkpoint.isFlushDue());
+
+        Thread.sleep(60);
+        assertTrue(checkpoint.isFlushDue());
+        assertFalse(checkpoint.isFlushDue(), "같은 주기에는 한 번만 저장해야 한다.");
+    }
+}
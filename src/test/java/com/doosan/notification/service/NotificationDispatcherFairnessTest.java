@@ -0,0 +1,156 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.util.BoundedExecutor;
+import com.doosan.notification.util.NotificationRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 큰 재입고가 전송 중일 때 작은 재입고들의 완료 지연(p99) 측정, 레인 가중치 검증
+@Slf4j
+public class NotificationDispatcherFairnessTest {
+
+    private static final int PERMITS_PER_SECOND = 2000;
+    private static final int BIG_RESTOCK_USERS = 4000;  // 전송에 약 2초
+    private static final int SMALL_RESTOCKS = 40;
+    private static final int SMALL_RESTOCK_USERS = 10;
+    private static final long SMALL_RESTOCK_INTERVAL_MILLIS = 25;
+
+    private final ExecutorService workerExecutor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        workerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void smallRestocksAreNotStarvedByLargeOne() throws InterruptedException {
+        long fifoP99 = measureSmallRestockP99(false);
+        long fairP99 = measureSmallRestockP99(true);
+        log.info("큰 재입고 {}명 전송 중 작은 재입고({}명) 완료 지연 p99 - 단일 큐: {}ms, 상품별 레인: {}ms",
+                BIG_RESTOCK_USERS, SMALL_RESTOCK_USERS, fifoP99, fairP99);
+
+        assertTrue(fifoP99 > 1000, "단일 큐에서는 큰 재입고 뒤에 줄을 선다: " + fifoP99 + "ms");
+        assertTrue(fairP99 < 250, "상품별 레인에서는 큰 재입고와 번갈아 전송되어야 한다: " + fairP99 + "ms");
+    }
+
+    @Test
+    public void laneWeightControlsShareOfPermits() throws InterruptedException {
+        BoundedExecutor singleWorker = new BoundedExecutor(workerExecutor, 1);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(new NotificationRateLimiter(100_000, 100), singleWorker);
+        dispatcher.start();
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        try {
+            dispatcher.submit("gate", 1, () -> awaitQuietly(gate)); // 두 레인이 모두 쌓일 때까지 워커를 막아둠
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                futures.add(dispatcher.submit("restock", 1, () -> executed.add("restock")));
+            }
+            for (int i = 0; i < 400; i++) {
+                futures.add(dispatcher.submit("manual", 3, () -> executed.add("manual")));
+            }
+            gate.countDown();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            dispatcher.shutdown();
+        }
+
+        long manualInFirst200 = executed.subList(0, 200).stream().filter("manual"::equals).count();
+        assertTrue(manualInFirst200 >= 140 && manualInFirst200 <= 160,
+                "가중치 3인 레인이 가중치 1인 레인보다 약 3배 많이 전송되어야 한다: " + manualInFirst200);
+    }
+
+    @Test
+    public void laneWeightControlsShareOfPermitsForBatches() throws InterruptedException {
+        // 실제 전송처럼 50건짜리 묶음: 가중치 4인 수동 레인이 가중치 1인 재입고 레인보다 4배 많은 토큰을 받아야 한다
+        BoundedExecutor singleWorker = new BoundedExecutor(workerExecutor, 1);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(new NotificationRateLimiter(100_000, 100), singleWorker);
+        dispatcher.start();
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        try {
+            dispatcher.submit("gate", 1, () -> awaitQuietly(gate));
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(dispatcher.submitAsync("restock", 1, 50,
+                        () -> {
+                    executed.add("restock"); // 워커가 전송을 시작하는 순서대로 기록
+                    return CompletableFuture.completedFuture(null);
+                }));
+            }
+            for (int i = 0; i < 100; i++) {
+                futures.add(dispatcher.submitAsync("manual", 4, 50,
+                        () -> {
+                    executed.add("manual"); // 워커가 전송을 시작하는 순서대로 기록
+                    return CompletableFuture.completedFuture(null);
+                }));
+            }
+            gate.countDown();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            dispatcher.shutdown();
+        }
+
+        long manualInFirst100 = executed.subList(0, 100).stream().filter("manual"::equals).count();
+        assertTrue(manualInFirst100 >= 75 && manualInFirst100 <= 85,
+                "묶음 크기가 가중치보다 커도 가중치 4인 레인이 약 4배 많이 전송되어야 한다: " + manualInFirst100);
+    }
+
+    // 큰 재입고를 먼저 넣고, 전송 중에 작은 재입고를 일정 간격으로 넣어 각각 끝날 때까지 걸린 시간의 p99 (ms)
+    private long measureSmallRestockP99(boolean perProductLanes) throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(new NotificationRateLimiter(PERMITS_PER_SECOND, 1), workerExecutor);
+        dispatcher.start();
+        try {
+            List<CompletableFuture<Void>> big = new ArrayList<>();
+            for (int i = 0; i < BIG_RESTOCK_USERS; i++) {
+                big.add(submit(dispatcher, perProductLanes, 0L, () -> {
+                }));
+            }
+
+            List<CompletableFuture<Long>> smallLatencies = new ArrayList<>();
+            for (long productId = 1; productId <= SMALL_RESTOCKS; productId++) {
+                long start = System.nanoTime();
+                CompletableFuture<?>[] users = new CompletableFuture<?>[SMALL_RESTOCK_USERS];
+                for (int i = 0; i < SMALL_RESTOCK_USERS; i++) {
+                    users[i] = submit(dispatcher, perProductLanes, productId, () -> {
+                    });
+                }
+                smallLatencies.add(CompletableFuture.allOf(users)
+                        .thenApply(done -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                Thread.sleep(SMALL_RESTOCK_INTERVAL_MILLIS);
+            }
+
+            long[] latencies = smallLatencies.stream().mapToLong(CompletableFuture::join).sorted().toArray();
+            CompletableFuture.allOf(big.toArray(CompletableFuture[]::new)).join();
+            log.info("작은 재입고 완료 지연 ({}) : {}", perProductLanes ? "상품별 레인" : "단일 큐", Arrays.toString(latencies));
+            return latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> submit(NotificationDispatcher dispatcher, boolean perProductLanes, long productId, Runnable task) {
+        return perProductLanes ? dispatcher.submit(productId, 1, task) : dispatcher.submit(task);
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
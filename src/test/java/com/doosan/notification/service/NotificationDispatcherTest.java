@@ -0,0 +1,187 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.util.BoundedExecutor;
+import com.doosan.notification.util.NotificationRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationDispatcherTest {
+
+    private final ExecutorService workerExecutor = Executors.newFixedThreadPool(4);
+    private final NotificationDispatcher dispatcher = new NotificationDispatcher(new NotificationRateLimiter(200, 10), workerExecutor);
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.shutdown();
+        workerExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldRunEveryTaskAtConfiguredRateWithoutDropping() {
+        // 초당 200개, 버스트 10개 -> 110개 작업은 버스트 10개 이후 100개가 약 0.5초에 걸쳐 실행된다
+        int totalTasks = 110;
+        AtomicInteger executed = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < totalTasks; i++) {
+            futures.add(dispatcher.submit(executed::incrementAndGet));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(totalTasks, executed.get(), "속도 제한을 넘는 작업도 버려지지 않고 모두 실행되어야 한다.");
+        assertTrue(elapsedMillis >= 450, "작업은 설정된 속도에 맞춰 실행되어야 한다: " + elapsedMillis + "ms");
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void shouldNotExceedMaxInFlightTasks() throws InterruptedException {
+        // 워커 스레드가 많아도 동시에 실행되는 작업은 한도(2개)를 넘지 않는다
+        BoundedExecutor boundedExecutor = new BoundedExecutor(workerExecutor, 2);
+        NotificationDispatcher boundedDispatcher = new NotificationDispatcher(new NotificationRateLimiter(10_000, 100), boundedExecutor);
+        boundedDispatcher.start();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            futures.add(boundedDispatcher.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        boundedDispatcher.shutdown();
+
+        assertTrue(maxRunning.get() <= 2, "동시 실행 작업 수가 한도를 넘으면 안 된다: " + maxRunning.get());
+        // 실행 슬롯은 작업의 future 가 완료된 직후 반환되므로 잠시 기다린다
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (boundedExecutor.getInFlightCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, boundedExecutor.getInFlightCount());
+    }
+
+    @Test
+    public void shouldTakeOneTokenPerMessageForAsyncBatch() {
+        // 초당 200개, 버스트 10개 -> 50개짜리 묶음 3개는 버스트 이후 140개 분량인 약 0.7초를 기다린다
+        NotificationRateLimiter rateLimiter = new NotificationRateLimiter(200, 10);
+        NotificationDispatcher batchDispatcher = new NotificationDispatcher(rateLimiter, workerExecutor);
+        batchDispatcher.start();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            int batch = i;
+            futures.add(batchDispatcher.submitAsync("batch", 1, 50, () -> CompletableFuture.supplyAsync(() -> batch)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        batchDispatcher.shutdown();
+
+        assertEquals(List.of(0, 1, 2), futures.stream().map(CompletableFuture::join).toList());
+        assertEquals(150, rateLimiter.getGrantedPermits());
+        assertTrue(elapsedMillis >= 650, "묶음은 메시지 수만큼 토큰을 받아야 한다: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    public void shouldReportPendingMessagesAndRecentDrainRate() throws InterruptedException {
+        // 초당 100개 -> 10개짜리 묶음 30개(300건)가 대기열에 쌓이고 초당 약 100건씩 빠진다
+        NotificationDispatcher slowDispatcher = new NotificationDispatcher(new NotificationRateLimiter(100, 10), workerExecutor);
+        slowDispatcher.start();
+        try {
+            assertEquals(0.0, slowDispatcher.getDrainRate());
+            for (int i = 0; i < 30; i++) {
+                slowDispatcher.submitAsync("slow", 1, 10, () -> CompletableFuture.completedFuture(null));
+            }
+            long pendingAtStart = slowDispatcher.getPendingPermits();
+            assertTrue(pendingAtStart >= 250, "대기 메시지는 묶음 수가 아니라 메시지 수로 세어야 한다: " + pendingAtStart);
+
+            Thread.sleep(2_200);
+            double drainRate = slowDispatcher.getDrainRate();
+            assertTrue(drainRate >= 50 && drainRate <= 150, "최근 전송 속도는 속도 제한과 비슷해야 한다: " + drainRate);
+            assertTrue(slowDispatcher.getPendingPermits() <= pendingAtStart - 150);
+        } finally {
+            slowDispatcher.shutdown();
+        }
+        assertEquals(0, slowDispatcher.getPendingPermits());
+    }
+
+    @Test
+    public void shouldKeepPacingWhenWorkerRejectsTask() {
+        // 첫 작업은 실행기가 거부 -> 그 작업만 실패하고 페이서는 다음 작업을 계속 넘겨야 한다
+        AtomicInteger handedOver = new AtomicInteger();
+        Executor rejectingFirst = command -> {
+            if (handedOver.incrementAndGet() == 1) {
+                throw new RejectedExecutionException("실행 한도 초과");
+            }
+            workerExecutor.execute(command);
+        };
+        NotificationDispatcher rejectingDispatcher = new NotificationDispatcher(new NotificationRateLimiter(10_000, 100), rejectingFirst);
+        rejectingDispatcher.start();
+        try {
+            CompletableFuture<Void> rejected = rejectingDispatcher.submit(() -> {
+            });
+            CompletableFuture<Void> next = rejectingDispatcher.submit(() -> {
+            });
+
+            CompletionException error = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            assertDoesNotThrow(() -> next.get(2, TimeUnit.SECONDS), "거부 이후의 작업도 실행되어야 한다.");
+        } finally {
+            rejectingDispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailQueuedTasksOnShutdown() {
+        // 토큰이 없어 대기 중인 작업과 큐에 남은 작업은 종료 시 모두 실패로 끝나야 한다 (무한 대기하지 않음)
+        NotificationDispatcher stalledDispatcher = new NotificationDispatcher(new NotificationRateLimiter(1, 1), workerExecutor);
+        stalledDispatcher.start();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(stalledDispatcher.submitAsync("stalled", 1, 5, () -> CompletableFuture.completedFuture(1)));
+        }
+
+        stalledDispatcher.shutdown();
+
+        for (CompletableFuture<Integer> future : futures) {
+            assertThrows(Exception.class, () -> future.get(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void shouldCompleteFutureExceptionallyWhenTaskFails() {
+        CompletableFuture<Void> future = dispatcher.submit(() -> {
+            throw new IllegalStateException("전송 실패");
+        });
+
+        assertThrows(Exception.class, future::join);
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
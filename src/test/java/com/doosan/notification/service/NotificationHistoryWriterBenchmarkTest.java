@@ -0,0 +1,134 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.Product;
+import com.doosan.notification.entity.ProductUserNotificationHistory;
+import com.doosan.notification.repository.ProductRepository;
+import com.doosan.notification.repository.ProductUserNotificationHistoryBatchRepository;
+import com.doosan.notification.repository.ProductUserNotificationHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 사용자별 save() 와 NotificationHistoryWriter 배치 저장의 SQL 실행 횟수 비교, 중복 히스토리 무시 검증 (H2 MySQL 모드)
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:history-writer;DB_CLOSE_DELAY=-1;MODE=MYSQL", // ON DUPLICATE KEY UPDATE
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "notification.history.batch-size=100",
+        "notification.history.flush-interval-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({NotificationHistoryWriter.class, ProductUserNotificationHistoryBatchRepository.class,
+        NotificationMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // writer 가 자체 트랜잭션으로 커밋하도록 테스트 트랜잭션 비활성화
+public class NotificationHistoryWriterBenchmarkTest {
+
+    private static final int USERS = 2000;
+
+    @Autowired
+    private NotificationHistoryWriter notificationHistoryWriter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductUserNotificationHistoryRepository userNotificationHistoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Product product;
+
+    @BeforeEach
+    public void setup() {
+        userNotificationHistoryRepository.deleteAllInBatch();
+        product = new Product();
+        product.setRestockRound(1);
+        product.setStockStatus(Product.StockStatus.IN_STOCK);
+        product = productRepository.save(product);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void batchedWriterIssuesTenTimesFewerStatements() {
+        // 기존 방식: 사용자마다 save()
+        long start = System.nanoTime();
+        for (long userId = 1; userId <= USERS; userId++) {
+            userNotificationHistoryRepository.save(newHistory(userId));
+        }
+        long perUserNanos = System.nanoTime() - start;
+        long perUserStatements = statistics.getPrepareStatementCount();
+
+        // writer 방식: 버퍼에 모아 배치 저장 (JDBC 배치라 Hibernate 통계 대신 배치 저장 횟수로 셈)
+        long batchesBefore = meterRegistry.summary("notification.history.batch.size").count();
+        start = System.nanoTime();
+        for (long userId = USERS + 1; userId <= USERS * 2; userId++) {
+            notificationHistoryWriter.append(newHistory(userId));
+        }
+        notificationHistoryWriter.flush();
+        long batchedNanos = System.nanoTime() - start;
+        long batchedStatements = meterRegistry.summary("notification.history.batch.size").count() - batchesBefore;
+
+        log.info("사용자 {}명 - save(): SQL {}회, {}ms / writer: SQL {}회, {}ms", USERS,
+                perUserStatements, perUserNanos / 1_000_000, batchedStatements, batchedNanos / 1_000_000);
+
+        assertEquals(USERS * 2L, userNotificationHistoryRepository.count(), "모든 히스토리가 저장되어야 한다.");
+        assertEquals(0, notificationHistoryWriter.getBufferedCount());
+        assertTrue(batchedStatements * 10 <= perUserStatements,
+                "배치 저장은 SQL 실행 횟수가 10배 이상 적어야 한다: " + batchedStatements + " vs " + perUserStatements);
+    }
+
+    @Test
+    public void ignoresHistoriesAlreadySavedForTheRound() {
+        for (long userId = 1; userId <= 300; userId++) {
+            notificationHistoryWriter.append(newHistory(userId));
+        }
+        notificationHistoryWriter.flush();
+
+        // 체크포인트 저장 전에 중단된 회차를 이어서 보내 앞 구간이 다시 들어와도 배치 저장은 실패하지 않는다
+        for (long userId = 201; userId <= 400; userId++) {
+            notificationHistoryWriter.append(newHistory(userId));
+        }
+        notificationHistoryWriter.flush();
+
+        assertEquals(400, userNotificationHistoryRepository.count(), "회차마다 사용자당 한 행만 남아야 한다.");
+        assertEquals(0, notificationHistoryWriter.getBufferedCount());
+
+        ProductUserNotificationHistory nextRound = newHistory(1);
+        nextRound.setRestockRound(product.getRestockRound() + 1);
+        notificationHistoryWriter.append(nextRound);
+        notificationHistoryWriter.flush();
+        assertEquals(401, userNotificationHistoryRepository.count(), "다음 회차에는 같은 사용자도 저장되어야 한다.");
+    }
+
+    private ProductUserNotificationHistory newHistory(long userId) {
+        ProductUserNotificationHistory history = new ProductUserNotificationHistory();
+        history.setProduct(product);
+        history.setUserId(userId);
+        history.setRestockRound(product.getRestockRound());
+        return history;
+    }
+}
@@ -0,0 +1,80 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.ProductUserNotificationHistory;
+import com.doosan.notification.repository.ProductUserNotificationHistoryBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// 알림 히스토리 배치 저장이 실패했을 때 꺼낸 배치를 다시 저장하고, 끝내 실패하면 버린 건수를 지표로 남기는지 검증
+public class NotificationHistoryWriterTest {
+
+    private ProductUserNotificationHistoryBatchRepository batchRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationHistoryWriter writer;
+    private final List<List<ProductUserNotificationHistory>> inserted = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        batchRepository = mock(ProductUserNotificationHistoryBatchRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new NotificationHistoryWriter(batchRepository, mock(PlatformTransactionManager.class),
+                new NotificationMetrics(meterRegistry), 100, 60_000, 3, 1);
+        writer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    public void retriesBatchThatFailedOnce() {
+        doThrow(new DataAccessResourceFailureException("커넥션 끊김"))
+                .doAnswer(invocation -> inserted.add(List.copyOf(invocation.getArgument(0))))
+                .when(batchRepository).insertIgnoringDuplicates(anyList());
+        for (long userId = 1; userId <= 3; userId++) {
+            writer.append(newHistory(userId));
+        }
+
+        assertDoesNotThrow(writer::flush);
+
+        verify(batchRepository, times(2)).insertIgnoringDuplicates(anyList());
+        assertEquals(1, inserted.size());
+        assertEquals(List.of(1L, 2L, 3L), inserted.get(0).stream().map(ProductUserNotificationHistory::getUserId).toList(),
+                "실패한 배치의 히스토리를 그대로 다시 저장해야 한다.");
+        assertEquals(0, writer.getBufferedCount());
+        assertEquals(0, meterRegistry.counter("notification.history.dropped").count());
+    }
+
+    @Test
+    public void countsDroppedHistoriesAfterMaxAttempts() {
+        doThrow(new DataAccessResourceFailureException("DB 장애"))
+                .when(batchRepository).insertIgnoringDuplicates(anyList());
+        for (long userId = 1; userId <= 3; userId++) {
+            writer.append(newHistory(userId));
+        }
+
+        assertThrows(DataAccessResourceFailureException.class, writer::flush);
+
+        verify(batchRepository, times(3)).insertIgnoringDuplicates(anyList());
+        assertEquals(3, meterRegistry.counter("notification.history.dropped").count());
+    }
+
+    private ProductUserNotificationHistory newHistory(long userId) {
+        ProductUserNotificationHistory history = new ProductUserNotificationHistory();
+        history.setUserId(userId);
+        history.setRestockRound(1);
+        return history;
+    }
+}
@@ -0,0 +1,72 @@
+package com.doosan.notification.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 재입고 알림 전송 후 /actuator/prometheus 에 전송 지표가 노출되는지 검증 (H2)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:metrics-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=10000",
+        "management.endpoints.web.exposure.include=prometheus"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class NotificationMetricsTest {
+
+    private static final long PRODUCT_ID = 70001L;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void shouldExposeRestockMetricsInPrometheusFormat() throws Exception {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", PRODUCT_ID);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, 100, NOW())", PRODUCT_ID);
+        for (int userId = 1; userId <= 100; userId++) {
+            jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                    "VALUES (?, ?, true, NOW(), NOW())", PRODUCT_ID, userId);
+        }
+
+        assertEquals("COMPLETED", notificationService.sendRestockNotification(PRODUCT_ID).getNotificationStatus());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("notification_sends_total{result=\"success\",} 100.0"), body);
+        assertTrue(body.contains("notification_rate_limiter_permits_total{result=\"granted\",}"));
+        assertTrue(body.contains("notification_rate_limiter_permits_total{result=\"denied\",}"));
+        assertTrue(body.contains("notification_dispatch_queue_size "));
+        assertTrue(body.contains("notification_dispatch_active "));
+        assertTrue(body.contains("notification_restock_fanout_duration_seconds_count{status=\"COMPLETED\",} 1.0"));
+        assertTrue(body.contains("notification_restock_fanout_sends_per_second_count"));
+        assertTrue(body.contains("notification_history_batch_size_sum 100.0"));
+        assertTrue(body.contains("notification_history_batch_latency_seconds_count"));
+        assertTrue(body.contains("notification_stock_lock_wait_seconds_count{lock=\"stock\",} 1.0"));
+        assertTrue(body.contains("notification_restock_finished_total{status=\"COMPLETED\",} 1.0"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.NotificationOutbox;
+import com.doosan.notification.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 아웃박스 작업 가져가기(SKIP LOCKED, lease 만료) 검증 (H2)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션마다 각자 커밋/락을 잡도록 테스트 트랜잭션 비활성화
+public class NotificationOutboxClaimTest {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldClaimPendingAndExpiredJobsOnly() {
+        LocalDateTime now = LocalDateTime.now();
+        Long pending = save(NotificationOutbox.PENDING, null).getId();
+        Long expired = save(NotificationOutbox.PROCESSING, now.minusSeconds(10)).getId();
+        save(NotificationOutbox.PROCESSING, now.plusSeconds(60)); // 다른 노드가 실행 중
+        save(NotificationOutbox.DONE, null);
+
+        List<Long> claimed = new TransactionTemplate(transactionManager).execute(status ->
+                outboxRepository.findClaimableForUpdate(now, 10).stream().map(NotificationOutbox::getId).toList());
+
+        assertEquals(List.of(pending, expired), claimed, "대기 중이거나 lease 가 만료된 작업만 가져가야 한다.");
+    }
+
+    @Test
+    public void shouldSkipJobLockedByAnotherNode() throws Exception {
+        Long first = save(NotificationOutbox.PENDING, null).getId();
+        Long second = save(NotificationOutbox.PENDING, null).getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondClaimed = new CountDownLatch(1);
+
+        // 첫 번째 노드는 작업을 잠근 채로 트랜잭션을 유지
+        CompletableFuture<List<NotificationOutbox>> nodeA = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<NotificationOutbox> claimed = outboxRepository.findClaimableForUpdate(LocalDateTime.now(), 1);
+                    firstClaimed.countDown();
+                    await(secondClaimed);
+                    return claimed;
+                }));
+        assertTrue(firstClaimed.await(5, TimeUnit.SECONDS));
+
+        // 두 번째 노드는 잠긴 작업을 기다리지 않고 다음 작업을 가져감
+        List<NotificationOutbox> nodeB = transactionTemplate.execute(status ->
+                outboxRepository.findClaimableForUpdate(LocalDateTime.now(), 1));
+        secondClaimed.countDown();
+
+        assertEquals(first, nodeA.get(5, TimeUnit.SECONDS).get(0).getId());
+        assertEquals(1, nodeB.size());
+        assertEquals(second, nodeB.get(0).getId(), "다른 노드가 잠근 작업은 건너뛰어야 한다.");
+    }
+
+    private NotificationOutbox save(String status, LocalDateTime leaseExpiresAt) {
+        NotificationOutbox outbox = new NotificationOutbox();
+        outbox.setProductId(1L);
+        outbox.setNotificationHistoryId(1L);
+        outbox.setRestockRound(1);
+        outbox.setStatus(status);
+        outbox.setLeaseExpiresAt(leaseExpiresAt);
+        return outboxRepository.save(outbox);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
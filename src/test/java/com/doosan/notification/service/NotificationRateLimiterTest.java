@@ -3,61 +3,116 @@ package com.doosan.notification.service;
 import com.doosan.notification.util.NotificationRateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+// GCRA 속도 제한기: 버스트 용량만큼 즉시 허용하고, 이후에는 1/rate 초마다 토큰 하나씩 채워지는지 검증
+// 시계를 직접 움직이므로 테스트 실행 속도와 관계없이 같은 결과가 나온다
 public class NotificationRateLimiterTest {
 
-    @Autowired
+    private static final int PERMITS_PER_SECOND = 500; // 토큰 1개 = 2ms
+    private static final int BURST = 500;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
     private NotificationRateLimiter rateLimiter;
 
     @BeforeEach
-    public void resetLimiter() {
-        // 테스트 실행 전 상태 초기화를 보장
+    public void setUp() {
+        rateLimiter = new NotificationRateLimiter(PERMITS_PER_SECOND, BURST, clock::get);
         rateLimiter.init();
     }
 
     @Test
-    public void shouldLimitRequestsToConfiguredMaxPerSecond() throws InterruptedException {
-        // 1초 동안 최대 허용 요청 수 테스트
-        int maxRequests = 500; // 설정 값에 맞게 검증
-        for (int i = 0; i < maxRequests; i++) {
-            assertTrue(rateLimiter.tryAcquire(), "요청이 허용되어야 한다. 요청: " + (i + 1));
+    public void shouldAllowBurstCapacityImmediately() {
+        for (int i = 0; i < BURST; i++) {
+            assertTrue(rateLimiter.tryAcquire(), "버스트 용량 안의 요청은 허용되어야 한다. 요청: " + (i + 1));
         }
+        assertFalse(rateLimiter.tryAcquire(), "버킷이 비었으므로 즉시 거부되어야 한다.");
+        assertEquals(BURST, rateLimiter.getGrantedPermits());
+        assertEquals(1, rateLimiter.getDeniedPermits());
+    }
+
+    @Test
+    public void shouldRefillOneTokenPerInterval() {
+        assertTrue(rateLimiter.tryAcquire(BURST));
 
-        // 최대 요청 초과
-        assertFalse(rateLimiter.tryAcquire(), "요청 한도를 초과했으므로 요청이 거부되어야 한다.");
+        advanceMillis(1);
+        assertFalse(rateLimiter.tryAcquire(), "토큰 간격(2ms)이 지나기 전에는 거부되어야 한다.");
+
+        advanceMillis(1);
+        assertTrue(rateLimiter.tryAcquire(), "2ms 가 지나면 토큰 하나가 채워진다.");
+        assertFalse(rateLimiter.tryAcquire());
+
+        advanceMillis(100);
+        assertEquals(50, rateLimiter.availablePermits(), "100ms 동안 초당 500개 비율로 50개가 채워진다.");
+        assertTrue(rateLimiter.tryAcquire(50));
+        assertFalse(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    public void shouldNotAccumulateBeyondBurstWhileIdle() {
+        advanceMillis(10_000);
 
-        // 1초 대기 후 요청 허용 확인
-        Thread.sleep(1000);
-        assertTrue(rateLimiter.tryAcquire(), "1초 후 요청이 허용되어야 한다.");
+        assertEquals(BURST, rateLimiter.availablePermits(), "오래 쉬어도 버스트 용량 이상은 쌓이지 않는다.");
+        assertTrue(rateLimiter.tryAcquire(BURST));
+        assertFalse(rateLimiter.tryAcquire());
     }
 
     @Test
-    public void shouldResetCounterAfterOneSecond() throws InterruptedException {
-        int maxRequests = 500;
+    public void shouldNotDoubleAroundSecondBoundary() {
+        // 고정 윈도우는 윈도우 끝에서 500개, 경계 직후 500개를 허용해 짧은 구간에 1000개가 나갈 수 있다
+        advanceMillis(999);
+        assertTrue(rateLimiter.tryAcquire(BURST));
 
-        // 최대 요청 한도까지 요청
-        for (int i = 0; i < maxRequests; i++) {
-            assertTrue(rateLimiter.tryAcquire(), "요청이 허용되어야 한다. 요청: " + (i + 1));
+        advanceMillis(2); // 1초 경계를 넘긴 직후
+        int granted = 0;
+        while (rateLimiter.tryAcquire()) {
+            granted++;
         }
+        assertEquals(1, granted, "경계를 넘어도 지난 2ms 동안 채워진 토큰 하나만 허용된다.");
+    }
 
-        // 1초 대기 후 초기화 및 요청 성공 확인
-        Thread.sleep(1000);
-        assertTrue(rateLimiter.tryAcquire(), "1초 후 카운터가 초기화되어 요청이 허용되어야 한다.");
+    @Test
+    public void shouldRejectRequestLargerThanBurst() {
+        assertFalse(rateLimiter.tryAcquire(BURST + 1), "버킷 용량보다 큰 요청은 항상 거부되어야 한다.");
+        assertTrue(rateLimiter.tryAcquire(BURST), "거부된 요청은 토큰을 쓰지 않는다.");
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.tryAcquire(0));
     }
 
     @Test
-    public void shouldRejectExcessiveRequestsImmediately() {
-        int maxRequests = 500;
+    public void reserveReturnsWaitUntilTokensAreRefilled() {
+        assertEquals(0, rateLimiter.reserve(BURST), "버킷에 토큰이 있으면 기다리지 않는다.");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), rateLimiter.reserve(10), "토큰 10개가 채워지는 20ms 뒤에 사용");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(40), rateLimiter.reserve(10), "앞선 예약 뒤로 줄을 선다.");
 
-        // 최대 요청 초과 후 즉시 실패 확인
-        for (int i = 0; i < maxRequests; i++) {
-            assertTrue(rateLimiter.tryAcquire(), "요청이 허용되어야 한다. 요청: " + (i + 1));
-        }
-        assertFalse(rateLimiter.tryAcquire(), "요청 한도를 초과했으므로 즉시 거부되어야 한다.");
+        advanceMillis(40);
+        assertFalse(rateLimiter.tryAcquire(), "예약한 토큰은 다른 요청이 가져갈 수 없다.");
+        advanceMillis(2);
+        assertTrue(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    public void timedAcquireWaitsOnlyWhenWithinTimeout() throws InterruptedException {
+        // 대기는 실제 시간으로 하므로 시계를 움직이지 않고 실제 시계를 쓰는 제한기로 확인
+        NotificationRateLimiter limiter = new NotificationRateLimiter(1000, 10);
+        assertTrue(limiter.tryAcquire(10));
+
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire(5, 100, TimeUnit.MILLISECONDS), "토큰 5개(약 5ms)는 timeout 안에 채워진다.");
+        long waited = System.nanoTime() - start;
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(4), "토큰이 채워질 때까지 대기해야 한다: " + waited);
+
+        // 토큰 1개 = 100ms 인 제한기로 확인 (실행이 잠깐 멈춰도 결과가 바뀌지 않도록)
+        NotificationRateLimiter slow = new NotificationRateLimiter(10, 1);
+        assertTrue(slow.tryAcquire());
+        assertFalse(slow.tryAcquire(1, 1, TimeUnit.MILLISECONDS), "기다려야 하는 시간이 timeout 보다 길면 예약하지 않는다.");
+        assertTrue(slow.tryAcquire(1, 1, TimeUnit.SECONDS), "거부된 요청은 예약하지 않으므로 다음 토큰을 받을 수 있다.");
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
     }
-}
\ No newline at end of file
+}
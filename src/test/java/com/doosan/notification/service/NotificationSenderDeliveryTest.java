@@ -0,0 +1,221 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.DeadLetterReplayResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 전송 채널이 일부 사용자에게 실패할 때 재시도, 데드레터 기록, 재고 반환, 최종 상태, 데드레터 재전송, 재고 기반 발송 계획 검증 (H2)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sender-delivery;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:sender-delivery-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=10000",
+        "notification.sender.batch-size=7", // 청크가 여러 묶음으로 나뉘는 경우까지 확인
+        "notification.retry.max-attempts=3",
+        "notification.retry.initial-backoff-ms=10",
+        "notification.retry.max-backoff-ms=50"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class NotificationSenderDeliveryTest {
+
+    // userId 별 남은 실패 횟수 (없으면 성공)
+    private static final Map<Long, Integer> remainingFailures = new ConcurrentHashMap<>();
+    // 전송 채널에 한 번이라도 넘어온 사용자 (productId -> userId)
+    private static final Set<List<Long>> attemptedUsers = ConcurrentHashMap.newKeySet();
+
+    @TestConfiguration
+    static class ScriptedSenderConfig {
+        @Bean
+        @Primary
+        NotificationSender scriptedSender() {
+            return messages -> CompletableFuture.supplyAsync(() -> messages.stream()
+                    .peek(message -> attemptedUsers.add(List.of(message.productId(), message.userId())))
+                    .map(message -> takeFailure(message.userId())
+                            ? NotificationSender.Delivery.failed(message, "rejected")
+                            : NotificationSender.Delivery.ok(message))
+                    .toList());
+        }
+
+        // 남은 실패 횟수가 있으면 하나 줄이고 true
+        private static boolean takeFailure(long userId) {
+            boolean[] failed = {false};
+            remainingFailures.computeIfPresent(userId, (id, left) -> {
+                failed[0] = true;
+                return left > 1 ? left - 1 : null;
+            });
+            return failed[0];
+        }
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationHistoryWriter notificationHistoryWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        remainingFailures.clear();
+        attemptedUsers.clear();
+    }
+
+    @Test
+    public void deadLettersUsersThatFailEveryAttempt() {
+        long productId = 70001L;
+        insertProduct(productId, 100, 30);
+        failUsersDivisibleByThree(Integer.MAX_VALUE);
+
+        notificationService.sendRestockNotification(productId);
+        notificationHistoryWriter.flush();
+
+        List<Long> notifiedUserIds = jdbcTemplate.queryForList(
+                "SELECT user_id FROM product_user_notification_history WHERE product_id = ? ORDER BY user_id", Long.class, productId);
+        assertEquals(20, notifiedUserIds.size());
+        assertTrue(notifiedUserIds.stream().noneMatch(userId -> userId % 3 == 0));
+        assertEquals(100 - 20, jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM product_stock WHERE product_id = ?", Integer.class, productId)); // 실패한 10명 몫은 반환
+        assertEquals("COMPLETED_WITH_ERRORS", status(productId));
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_dead_letter WHERE product_id = ? AND status = 'PENDING' AND attempts = 3",
+                Integer.class, productId));
+        assertArrayEquals(new long[]{20, 10}, counts(productId));
+    }
+
+    @Test
+    public void retriesTransientFailuresWithoutDeadLetters() {
+        long productId = 70002L;
+        insertProduct(productId, 100, 30);
+        failUsersDivisibleByThree(2); // 세 번째 시도에서 성공
+
+        notificationService.sendRestockNotification(productId);
+        notificationHistoryWriter.flush();
+
+        assertEquals(30, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_user_notification_history WHERE product_id = ?", Integer.class, productId));
+        assertEquals("COMPLETED", status(productId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_dead_letter WHERE product_id = ?", Integer.class, productId));
+        assertArrayEquals(new long[]{30, 0}, counts(productId));
+    }
+
+    @Test
+    public void replayDeliversDeadLettersAndCompletesRound() {
+        long productId = 70003L;
+        insertProduct(productId, 100, 30);
+        failUsersDivisibleByThree(Integer.MAX_VALUE);
+        notificationService.sendRestockNotification(productId);
+        assertEquals("COMPLETED_WITH_ERRORS", status(productId));
+
+        remainingFailures.clear(); // 채널 장애 복구
+        remainingFailures.put(3L, Integer.MAX_VALUE); // 한 명은 계속 실패
+        DeadLetterReplayResultDTO partial = notificationService.replayDeadLetters(productId, 100);
+        assertEquals(10, partial.getRequested());
+        assertEquals(9, partial.getReplayed());
+        assertEquals(1, partial.getFailed());
+        assertEquals("COMPLETED_WITH_ERRORS", status(productId));
+        assertArrayEquals(new long[]{29, 1}, counts(productId));
+        assertEquals(6, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM notification_dead_letter WHERE product_id = ? AND user_id = 3", Integer.class, productId));
+
+        remainingFailures.clear();
+        DeadLetterReplayResultDTO rest = notificationService.replayDeadLetters(productId, 100);
+        assertEquals(1, rest.getReplayed());
+        assertEquals("COMPLETED", status(productId));
+        assertArrayEquals(new long[]{30, 0}, counts(productId));
+        assertEquals(30, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT user_id) FROM product_user_notification_history WHERE product_id = ?", Integer.class, productId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_dead_letter WHERE product_id = ? AND status = 'PENDING'", Integer.class, productId));
+    }
+
+    @Test
+    public void sendsOnlyAsManySubscribersAsPlannedStock() {
+        long productId = 70004L;
+        insertProduct(productId, 10, 2_500);
+
+        notificationService.sendRestockNotification(productId);
+
+        assertEquals(10, attemptedUsers.size(), "재고만큼의 구독자에게만 전송해야 한다.");
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), jdbcTemplate.queryForList(
+                "SELECT user_id FROM product_user_notification_history WHERE product_id = ? ORDER BY user_id", Long.class, productId));
+        assertEquals("CANCELED_BY_SOLD_OUT", status(productId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM product_stock WHERE product_id = ?", Integer.class, productId));
+    }
+
+    @Test
+    public void replansStockReturnedByFailedSends() {
+        long productId = 70005L;
+        insertProduct(productId, 10, 30);
+        failUsersDivisibleByThree(Integer.MAX_VALUE);
+
+        notificationService.sendRestockNotification(productId);
+
+        // 실패한 3, 6, 9, 12 번 몫의 재고는 다음 구독자에게 돌아가 성공 10명을 채운다
+        assertEquals(List.of(1L, 2L, 4L, 5L, 7L, 8L, 10L, 11L, 13L, 14L), jdbcTemplate.queryForList(
+                "SELECT user_id FROM product_user_notification_history WHERE product_id = ? ORDER BY user_id", Long.class, productId));
+        assertEquals(14, attemptedUsers.size());
+        assertEquals("CANCELED_BY_SOLD_OUT", status(productId));
+        assertArrayEquals(new long[]{10, 4}, counts(productId));
+    }
+
+    @Test
+    public void completesWhenStockCoversEverySubscriberExactly() {
+        long productId = 70006L;
+        insertProduct(productId, 30, 30);
+
+        notificationService.sendRestockNotification(productId);
+
+        assertEquals(30, attemptedUsers.size());
+        assertEquals("COMPLETED", status(productId));
+    }
+
+    private void failUsersDivisibleByThree(int failures) {
+        for (long userId = 3; userId <= 30; userId += 3) {
+            remainingFailures.put(userId, failures);
+        }
+    }
+
+    private String status(long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT notification_status FROM product_notification_history WHERE product_id = ?", String.class, productId);
+    }
+
+    // 히스토리 행에 저장된 {성공 수, 실패 수}
+    private long[] counts(long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT sent_count, failed_count FROM product_notification_history WHERE product_id = ?",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, productId);
+    }
+
+    private void insertProduct(long productId, int stock, int subscribers) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, ?, NOW())", productId, stock);
+        for (int userId = 1; userId <= subscribers; userId++) {
+            jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                    "VALUES (?, ?, true, NOW(), NOW())", productId, userId);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.ProductStock;
+import com.doosan.notification.repository.ProductStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 조건부 UPDATE 기반 재고 예약 검증 (H2)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 스레드마다 각자 커밋하도록 테스트 트랜잭션 비활성화
+public class ProductStockReservationTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @BeforeEach
+    public void setup() {
+        productStockRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldGrantOnlyRemainingStock() {
+        productStockRepository.save(new ProductStock(PRODUCT_ID, 5));
+
+        assertEquals(3, productStockRepository.reserveStock(PRODUCT_ID, 3), "재고가 충분하면 요청 수량을 모두 확보한다.");
+        assertEquals(2, productStockRepository.reserveStock(PRODUCT_ID, 10), "재고가 부족하면 남은 만큼만 확보한다.");
+        assertEquals(0, productStockRepository.reserveStock(PRODUCT_ID, 1), "재고가 없으면 0을 반환한다.");
+        assertEquals(0, productStockRepository.findStockQuantityByProductId(PRODUCT_ID).orElseThrow());
+
+        productStockRepository.increaseStock(PRODUCT_ID, 2);
+        assertEquals(2, productStockRepository.findStockQuantityByProductId(PRODUCT_ID).orElseThrow(), "반환한 재고는 다시 예약할 수 있다.");
+    }
+
+    @Test
+    public void concurrentReservationsNeverOversell() throws Exception {
+        int initialStock = 100;
+        productStockRepository.save(new ProductStock(PRODUCT_ID, initialStock));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executorService.submit(() -> {
+                int granted = 0;
+                int reserved;
+                while ((reserved = productStockRepository.reserveStock(PRODUCT_ID, 7)) > 0) {
+                    granted += reserved;
+                }
+                return granted;
+            }));
+        }
+
+        int totalGranted = 0;
+        for (Future<Integer> future : futures) {
+            totalGranted += future.get();
+        }
+        executorService.shutdown();
+
+        assertEquals(initialStock, totalGranted, "동시에 예약해도 재고보다 많이 확보되면 안 된다.");
+        assertEquals(0, productStockRepository.findStockQuantityByProductId(PRODUCT_ID).orElseThrow());
+    }
+}
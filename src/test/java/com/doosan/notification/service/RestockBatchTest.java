@@ -0,0 +1,86 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+import com.doosan.notification.dto.RestockBatchResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 상품 재입고 요청: 상품/재고/구독자 검증 후 작업 등록, 릴레이가 모든 상품의 전송을 끝내는지 검증 (H2)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:restock-batch;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:restock-batch-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=10000",
+        "notification.restock.batch-transaction-size=2" // 여러 트랜잭션으로 나뉘는 경우까지 확인
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RestockBatchTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void batchRestockSchedulesEveryValidProduct() throws Exception {
+        insertProduct(90001L, 100, 30);
+        insertProduct(90002L, 100, 50);
+        insertProduct(90003L, 10, 20); // 재고보다 구독자가 많음
+        insertProduct(90004L, 100, 0); // 구독자 없음
+
+        RestockBatchResultDTO result = notificationService.startRestockNotifications(
+                List.of(90003L, 90001L, 90002L, 90004L, 99999L, 90001L));
+
+        assertEquals(List.of(90001L, 90002L, 90003L),
+                result.getAccepted().stream().map(ProductNotificationHistoryDTO::getProductId).toList());
+        assertEquals(List.of(99999L), result.getNotFoundProductIds());
+        assertEquals(List.of(90004L), result.getNoActiveUserProductIds());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT restock_round FROM product WHERE id = 90004", Integer.class));
+
+        awaitFinished(3);
+        assertEquals("COMPLETED", status(90001L));
+        assertEquals("COMPLETED", status(90002L));
+        assertEquals("CANCELED_BY_SOLD_OUT", status(90003L));
+        assertEquals(30 + 50 + 10, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_user_notification_history", Integer.class));
+    }
+
+    private void awaitFinished(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            Integer finished = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM product_notification_history WHERE notification_status <> 'IN_PROGRESS'", Integer.class);
+            if (finished != null && finished >= expected) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("재입고 알림 작업이 제한 시간 안에 끝나지 않았습니다.");
+    }
+
+    private String status(long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT notification_status FROM product_notification_history WHERE product_id = ?", String.class, productId);
+    }
+
+    private void insertProduct(long productId, int stock, int subscribers) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, ?, NOW())", productId, stock);
+        for (int userId = 1; userId <= subscribers; userId++) {
+            jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                    "VALUES (?, ?, true, NOW(), NOW())", productId, userId);
+        }
+    }
+}
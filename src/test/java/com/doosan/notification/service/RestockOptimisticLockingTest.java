@@ -0,0 +1,129 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.ProductStock;
+import com.doosan.notification.repository.ProductStockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 낙관적 락 모드에서 동시 재입고 요청의 회차가 빠짐없이 증가하는지, 오래된 재고 엔티티로 덮어쓰지 못하는지 검증 (H2)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:optimistic;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:optimistic-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=10000",
+        "notification.restock.locking=optimistic",
+        "notification.restock.optimistic-max-attempts=100"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RestockOptimisticLockingTest {
+
+    private static final int THREADS = 8;
+    private static final int RESTOCKS_PER_THREAD = 5;
+
+    // 회차를 공유하지 않는 노드들처럼 모든 요청에 회차 준비 권한을 줌 (같은 상품 행의 버전 충돌을 만들기 위해)
+    @TestConfiguration
+    static class UnsharedFlightConfig {
+        @Bean
+        @Primary
+        RestockFlightStore unsharedFlightStore() {
+            return new RestockFlightStore() {
+                @Override
+                public boolean tryAcquire(Long productId, String token) {
+                    return true;
+                }
+
+                @Override
+                public void attach(Long productId, String token, Long notificationHistoryId) {
+                }
+
+                @Override
+                public Flight find(Long productId) {
+                    return null;
+                }
+
+                @Override
+                public void release(Long productId, String token) {
+                }
+
+                @Override
+                public void finish(Long productId, Long notificationHistoryId) {
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void concurrentRestocksGetDistinctRounds() throws Exception {
+        long productId = 80001L;
+        insertProduct(productId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * RESTOCKS_PER_THREAD; i++) {
+                // 여러 노드가 각자 같은 상품의 회차를 준비하는 상황 (회차 공유가 없으므로 상품 행의 버전으로만 충돌을 가림)
+                futures.add(executor.submit(() -> notificationService.startRestockNotifications(List.of(productId))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int restocks = THREADS * RESTOCKS_PER_THREAD;
+        assertEquals(restocks, jdbcTemplate.queryForObject("SELECT restock_round FROM product WHERE id = ?", Integer.class, productId));
+        assertEquals(restocks, jdbcTemplate.queryForObject("SELECT version FROM product WHERE id = ?", Integer.class, productId));
+        assertEquals(restocks, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT restock_round) FROM product_notification_history WHERE product_id = ?", Integer.class, productId));
+    }
+
+    @Test
+    public void staleStockEntityCannotOverwriteReservation() {
+        long productId = 80002L;
+        insertProduct(productId);
+
+        ProductStock stale = productStockRepository.findByProductId(productId).orElseThrow();
+        assertEquals(1, productStockRepository.reserveStock(productId, 1)); // 조건부 UPDATE 가 버전을 올림
+
+        stale.decreaseStock(10);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> productStockRepository.save(stale));
+        assertEquals(999_999, jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM product_stock WHERE product_id = ?", Integer.class, productId));
+    }
+
+    private void insertProduct(long productId) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, 1000000, NOW())", productId);
+        jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                "VALUES (?, 1, true, NOW(), NOW())", productId);
+    }
+}
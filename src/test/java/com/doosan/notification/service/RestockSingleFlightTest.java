@@ -0,0 +1,221 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.ProductNotificationHistoryDTO;
+import com.doosan.notification.dto.RestockBatchResultDTO;
+import com.doosan.notification.repository.RestockFlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 같은 상품의 동시 재입고 요청이 하나의 회차를 나눠 받는지 (single-flight), restock_flight 임대 동작 검증 (H2)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:single-flight;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:single-flight-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=10000",
+        "notification.single-flight.poll-interval-ms=20",
+        "notification.single-flight.join-timeout-ms=3000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RestockSingleFlightTest {
+
+    // 전송 채널이 이 래치가 열릴 때까지 응답하지 않음 (회차가 진행 중인 상태를 만듦)
+    private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @TestConfiguration
+    static class GatedSenderConfig {
+        @Bean
+        @Primary
+        NotificationSender gatedSender() {
+            return messages -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return messages.stream().map(NotificationSender.Delivery::ok).toList();
+            });
+        }
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private RestockFlightRepository restockFlightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @BeforeEach
+    public void setUp() {
+        gate = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gate.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentRequestsShareOneRound() throws Exception {
+        long productId = 96001L;
+        insertProduct(productId, 100, 30);
+
+        List<Future<ProductNotificationHistoryDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> notificationService.sendRestockNotification(productId)));
+        }
+        Thread.sleep(300); // 모든 요청이 진행 중인 회차에 합류할 때까지
+        gate.countDown();
+
+        Long historyId = results.get(0).get(30, TimeUnit.SECONDS).getId();
+        for (Future<ProductNotificationHistoryDTO> result : results) {
+            ProductNotificationHistoryDTO dto = result.get(30, TimeUnit.SECONDS);
+            assertEquals(historyId, dto.getId(), "모든 요청이 같은 회차를 받아야 한다.");
+            assertEquals("COMPLETED", dto.getNotificationStatus());
+        }
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT restock_round FROM product WHERE id = ?", Integer.class, productId));
+        assertEquals(30, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_user_notification_history WHERE product_id = ?", Integer.class, productId));
+        assertEquals(100 - 30, jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM product_stock WHERE product_id = ?", Integer.class, productId));
+    }
+
+    @Test
+    public void duplicateAsyncRequestJoinsRunningRoundUntilItFinishes() throws Exception {
+        long productId = 96002L;
+        insertProduct(productId, 100, 10);
+
+        ProductNotificationHistoryDTO first = notificationService.startRestockNotification(productId);
+        ProductNotificationHistoryDTO duplicate = notificationService.startRestockNotification(productId);
+        assertEquals(first.getId(), duplicate.getId(), "진행 중인 회차가 있으면 새 회차를 만들지 않는다.");
+        assertEquals(1, duplicate.getRestockRound());
+
+        gate.countDown();
+        awaitFinished(first.getId());
+        ProductNotificationHistoryDTO next = notificationService.startRestockNotification(productId);
+        assertNotEquals(first.getId(), next.getId(), "회차가 끝난 뒤의 요청은 새 회차를 시작한다.");
+        assertEquals(2, next.getRestockRound());
+        awaitFinished(next.getId());
+    }
+
+    @Test
+    public void joinedRequestReturnsInProgressRoundAfterJoinTimeout() throws Exception {
+        long productId = 96004L;
+        insertProduct(productId, 100, 10);
+
+        Future<ProductNotificationHistoryDTO> leader = executor.submit(() -> notificationService.sendRestockNotification(productId));
+        Thread.sleep(300); // 먼저 온 요청이 회차를 준비하고 전송을 시작할 때까지
+
+        long start = System.nanoTime();
+        ProductNotificationHistoryDTO joined = notificationService.sendRestockNotification(productId);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals("IN_PROGRESS", joined.getNotificationStatus(), "대기 시간이 지나면 진행 중인 회차를 그대로 반환한다.");
+        assertTrue(waitedMillis < 8_000, "전송이 끝날 때까지 붙잡혀 있으면 안 된다: " + waitedMillis + "ms");
+
+        gate.countDown();
+        ProductNotificationHistoryDTO finished = leader.get(30, TimeUnit.SECONDS);
+        assertEquals(joined.getId(), finished.getId());
+        assertEquals("COMPLETED", finished.getNotificationStatus());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT restock_round FROM product WHERE id = ?", Integer.class, productId));
+    }
+
+    @Test
+    public void batchRequestReportsRunningRoundInsteadOfStartingAnother() throws Exception {
+        long runningProductId = 96005L;
+        long idleProductId = 96006L;
+        insertProduct(runningProductId, 100, 10);
+        insertProduct(idleProductId, 100, 10);
+
+        ProductNotificationHistoryDTO running = notificationService.startRestockNotification(runningProductId);
+        RestockBatchResultDTO result = notificationService.startRestockNotifications(List.of(runningProductId, idleProductId));
+
+        assertEquals(List.of(running.getId()), result.getInFlight().stream().map(ProductNotificationHistoryDTO::getId).toList(),
+                "진행 중인 회차가 있는 상품은 새 회차 대신 그 회차를 돌려준다.");
+        assertEquals(List.of(idleProductId), result.getAccepted().stream().map(ProductNotificationHistoryDTO::getProductId).toList());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT restock_round FROM product WHERE id = ?", Integer.class, runningProductId));
+
+        // 여러 상품 요청이 시작한 회차도 단건 요청이 합류한다
+        Long batchHistoryId = result.getAccepted().get(0).getId();
+        assertEquals(batchHistoryId, notificationService.startRestockNotification(idleProductId).getId());
+
+        gate.countDown();
+        awaitFinished(running.getId());
+        awaitFinished(batchHistoryId);
+        ProductNotificationHistoryDTO next = notificationService.startRestockNotification(idleProductId);
+        assertEquals(2, next.getRestockRound(), "여러 상품 요청의 회차가 끝나면 권한이 정리되어 새 회차를 시작한다.");
+        awaitFinished(next.getId());
+    }
+
+    @Test
+    public void flightLeaseIsSharedAndExpiresOnlyWhilePreparing() {
+        long productId = 96003L;
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(restockFlightRepository.tryAcquire(productId, "node-a", now, now.minusSeconds(1)));
+        assertNull(restockFlightRepository.find(productId).notificationHistoryId(), "준비 중인 회차");
+        assertTrue(restockFlightRepository.tryAcquire(productId, "node-b", now, now.plusSeconds(30)),
+                "준비 중에 만료된 권한은 다른 요청이 가져간다.");
+        assertFalse(restockFlightRepository.tryAcquire(productId, "node-c", now, now.plusSeconds(30)));
+
+        restockFlightRepository.attach(productId, "node-a", 1L); // 권한을 잃은 요청은 기록하지 못함
+        assertNull(restockFlightRepository.find(productId).notificationHistoryId());
+        restockFlightRepository.attach(productId, "node-b", 2L);
+        assertEquals(2L, restockFlightRepository.find(productId).notificationHistoryId());
+        assertFalse(restockFlightRepository.tryAcquire(productId, "node-c", now.plusMinutes(5), now.plusMinutes(6)),
+                "준비가 끝난 회차는 시간이 지나도 빼앗기지 않는다.");
+
+        restockFlightRepository.finish(productId, 2L);
+        assertNull(restockFlightRepository.find(productId));
+        assertTrue(restockFlightRepository.tryAcquire(productId, "node-c", now, now.plusSeconds(30)));
+    }
+
+    private void awaitFinished(Long historyId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            String status = jdbcTemplate.queryForObject(
+                    "SELECT notification_status FROM product_notification_history WHERE id = ?", String.class, historyId);
+            if (!"IN_PROGRESS".equals(status)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("재입고 알림 작업이 제한 시간 안에 끝나지 않았습니다.");
+    }
+
+    private void insertProduct(long productId, int stock, int subscribers) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'IN_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, ?, NOW())", productId, stock);
+        for (int userId = 1; userId <= subscribers; userId++) {
+            jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                    "VALUES (?, ?, true, NOW(), NOW())", productId, userId);
+        }
+    }
+}
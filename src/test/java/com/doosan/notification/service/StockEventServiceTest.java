@@ -0,0 +1,116 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.dto.StockEventDTO;
+import com.doosan.notification.dto.StockEventResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 입고 이벤트: 상품별 합산과 배치 재고 반영, 0 -> 양수 전환 시 재입고 알림 자동 시작, 연속 입고를 한 회차로 묶는지 검증 (H2)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-event;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "jdbcURL=jdbc:h2:mem:stock-event-unused", // GenerateSQLScripts 가 테스트 DB 에 데이터를 넣지 않도록
+        "dbUser=sa",
+        "dbPassword=",
+        "rate.limiter.max.requests=10000",
+        "notification.stock-event.debounce-ms=300",
+        "notification.stock-event.max-wait-ms=3000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class StockEventServiceTest {
+
+    @Autowired
+    private StockEventService stockEventService;
+
+    @Autowired
+    private RestockDebouncer restockDebouncer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void sumsEventsPerProductInOneBatch() {
+        insertProduct(95001L, 0, 0);
+        insertProduct(95002L, 5, 0);
+
+        StockEventResultDTO result = stockEventService.applyStockEvents(List.of(
+                event(95001L, 3), event(95002L, 4), event(99999L, 1), event(95001L, 2)));
+
+        assertEquals(4, result.getEventCount());
+        assertEquals(List.of(95001L, 95002L), result.getUpdatedProductIds());
+        assertEquals(List.of(99999L), result.getNotFoundProductIds());
+        assertEquals(List.of(95001L), result.getRestockProductIds(), "재고가 0에서 늘어난 상품만 재입고 알림을 예약한다.");
+        assertEquals(5, stock(95001L));
+        assertEquals(9, stock(95002L));
+    }
+
+    @Test
+    public void coalescesBurstOfEventsIntoOneRestockRound() throws Exception {
+        insertProduct(95101L, 0, 20);
+
+        // 팔레트를 50번 나눠 스캔
+        for (int i = 0; i < 50; i++) {
+            stockEventService.applyStockEvents(List.of(event(95101L, 1)));
+            Thread.sleep(5);
+        }
+        assertEquals(1, restockDebouncer.getPendingCount(), "알림은 입고가 멈출 때까지 기다린다.");
+
+        awaitFinished(95101L);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_notification_history WHERE product_id = ?", Integer.class, 95101L));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT restock_round FROM product WHERE id = ?", Integer.class, 95101L));
+        assertEquals("COMPLETED", jdbcTemplate.queryForObject(
+                "SELECT notification_status FROM product_notification_history WHERE product_id = ?", String.class, 95101L));
+        assertEquals(50 - 20, stock(95101L), "모든 입고가 반영된 재고로 알림을 보낸다.");
+    }
+
+    @Test
+    public void rejectsInvalidEvents() {
+        assertThrows(IllegalArgumentException.class, () -> stockEventService.applyStockEvents(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> stockEventService.applyStockEvents(List.of(event(95201L, 0))));
+        assertThrows(IllegalArgumentException.class, () -> stockEventService.applyStockEvents(List.of(event(null, 1))));
+    }
+
+    private void awaitFinished(long productId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            Integer finished = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM product_notification_history WHERE product_id = ? AND notification_status <> 'IN_PROGRESS'",
+                    Integer.class, productId);
+            if (finished != null && finished > 0) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("재입고 알림 작업이 제한 시간 안에 끝나지 않았습니다.");
+    }
+
+    private int stock(long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product_stock WHERE product_id = ?", Integer.class, productId);
+    }
+
+    private StockEventDTO event(Long productId, int quantity) {
+        StockEventDTO event = new StockEventDTO();
+        event.setProductId(productId);
+        event.setQuantity(quantity);
+        return event;
+    }
+
+    private void insertProduct(long productId, int stock, int subscribers) {
+        jdbcTemplate.update("INSERT INTO product (id, restock_round, stock_status) VALUES (?, 0, 'OUT_OF_STOCK')", productId);
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, stock_quantity, updated_at) VALUES (?, ?, NOW())", productId, stock);
+        for (int userId = 1; userId <= subscribers; userId++) {
+            jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                    "VALUES (?, ?, true, NOW(), NOW())", productId, userId);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.Product;
+import com.doosan.notification.entity.ProductUserNotification;
+import com.doosan.notification.repository.ProductRepository;
+import com.doosan.notification.repository.ProductUserNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 구독자 캐시 로딩, 구독 변경 증분 반영 (순서가 바뀐 변경 무시), 용량 초과 시 제거 검증 (H2)
+@DataJpaTest(properties = {
+        "notification.subscriber-index.enabled=true",
+        "notification.subscriber-index.max-user-ids=5",
+        "notification.subscriber-index.ttl-seconds=300"
+})
+@Import({SubscriberIndex.class, SubscriberIndexEntityListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 저장이 커밋되어야 캐시에 반영되므로 테스트 트랜잭션 비활성화
+public class SubscriberIndexTest {
+
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductUserNotificationRepository userNotificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    public void setup() {
+        userNotificationRepository.deleteAllInBatch();
+        product = newProduct();
+        subscriberIndex.evict(product.getId());
+    }
+
+    @Test
+    public void shouldServeChunksFromWarmIndexWithoutQuerying() {
+        insertSubscriber(product.getId(), 3L);
+        insertSubscriber(product.getId(), 1L);
+        insertSubscriber(product.getId(), 2L);
+
+        assertArrayEquals(new long[]{1, 2}, subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 2));
+        assertEquals(OptionalInt.of(3), subscriberIndex.getWarmSize(product.getId()));
+
+        // 캐시가 채워진 뒤에는 DB 를 다시 읽지 않는다 (JDBC 로 직접 넣은 행은 보이지 않음)
+        insertSubscriber(product.getId(), 4L);
+        assertArrayEquals(new long[]{3}, subscriberIndex.getChunk(product.getId(), 2L, 10));
+    }
+
+    @Test
+    public void shouldApplySubscriptionChangesAfterCommit() {
+        insertSubscriber(product.getId(), 1L);
+        subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10); // 캐시 로딩
+        insertSubscriber(product.getId(), 9L); // JDBC 로 직접 넣은 행은 다시 읽지 않는 한 보이지 않음
+
+        ProductUserNotification subscription = new ProductUserNotification();
+        subscription.setProduct(product);
+        subscription.setUserId(7L);
+        subscription.setActive(true);
+        subscription = userNotificationRepository.save(subscription);
+        assertEquals(OptionalInt.of(2), subscriberIndex.getWarmSize(product.getId()), "구독이 바뀌어도 캐시를 버리지 않고 증분으로 반영한다.");
+        assertArrayEquals(new long[]{1, 7}, subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10));
+
+        subscription.setActive(false);
+        userNotificationRepository.save(subscription);
+        assertEquals(OptionalInt.of(1), subscriberIndex.getWarmSize(product.getId()));
+        assertArrayEquals(new long[]{1}, subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10));
+        assertEquals(1, subscriberIndex.getCachedUserIds());
+    }
+
+    @Test
+    public void shouldIgnoreChangeOlderThanOneAlreadyApplied() {
+        insertSubscriber(product.getId(), 1L);
+        subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10); // 캐시 로딩
+
+        long subscribed = subscriberIndex.nextVersion();   // 7번 사용자 구독
+        long unsubscribed = subscriberIndex.nextVersion(); // 이어서 구독 해제
+
+        // 커밋 후 콜백이 커밋 순서와 반대로 실행됨
+        subscriberIndex.applyChanges(product.getId(), unsubscribed, Map.of(7L, false));
+        subscriberIndex.applyChanges(product.getId(), subscribed, Map.of(7L, true));
+
+        assertArrayEquals(new long[]{1}, subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10),
+                "나중에 커밋된 구독 해제를 이전 구독 변경이 덮어쓰면 안 된다.");
+        assertEquals(OptionalInt.of(1), subscriberIndex.getWarmSize(product.getId()));
+    }
+
+    @Test
+    public void shouldEvictWhenChangeWasWrittenBeforeLoading() {
+        insertSubscriber(product.getId(), 1L);
+        long writtenBeforeLoading = subscriberIndex.nextVersion();
+        subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10); // 캐시 로딩
+
+        // 로딩한 결과에 이 변경이 들어 있는지 알 수 없으므로 반영하지 않고 캐시를 버림
+        subscriberIndex.applyChanges(product.getId(), writtenBeforeLoading, Map.of(2L, true));
+
+        assertTrue(subscriberIndex.getWarmSize(product.getId()).isEmpty());
+        assertEquals(0, subscriberIndex.getCachedUserIds());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedProductWhenOverCapacity() {
+        Product other = newProduct();
+        for (long userId = 1; userId <= 3; userId++) {
+            insertSubscriber(product.getId(), userId);
+            insertSubscriber(other.getId(), userId);
+        }
+
+        subscriberIndex.getChunk(product.getId(), Long.MIN_VALUE, 10);
+        subscriberIndex.getChunk(other.getId(), Long.MIN_VALUE, 10); // 합계 6 > 5 이므로 먼저 읽은 상품이 제거됨
+
+        assertTrue(subscriberIndex.getWarmSize(product.getId()).isEmpty());
+        assertEquals(OptionalInt.of(3), subscriberIndex.getWarmSize(other.getId()));
+        assertEquals(3, subscriberIndex.getCachedUserIds());
+    }
+
+    private Product newProduct() {
+        Product newProduct = new Product();
+        newProduct.setStockStatus(Product.StockStatus.IN_STOCK);
+        return productRepository.save(newProduct);
+    }
+
+    private void insertSubscriber(Long productId, Long userId) {
+        jdbcTemplate.update("INSERT INTO product_user_notification (product_id, user_id, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, true, NOW(), NOW())", productId, userId);
+    }
+}
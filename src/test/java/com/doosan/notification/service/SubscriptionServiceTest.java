@@ -0,0 +1,125 @@
+package com.doosan.notification.service;
+
+import com.doosan.notification.entity.Product;
+import com.doosan.notification.exception.ResourceNotFoundException;
+import com.doosan.notification.repository.ProductRepository;
+import com.doosan.notification.repository.ProductUserNotificationBatchRepository;
+import com.doosan.notification.repository.ProductUserNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 구독 upsert 멱등성, 대량 구독/해제, 단건 요청 배치 저장 검증 (H2 MySQL 모드)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:subscription;DB_CLOSE_DELAY=-1;MODE=MYSQL", // ON DUPLICATE KEY UPDATE
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "notification.subscription.batch-size=500",
+        "notification.subscription.bulk-max-size=5000",
+        "notification.subscription.write-timeout-ms=5000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SubscriptionService.class, SubscriptionWriter.class, ProductUserNotificationBatchRepository.class,
+        SubscriberIndex.class, SubscriberIndexEntityListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // writer 스레드가 커밋한 결과를 조회하므로 테스트 트랜잭션 비활성화
+public class SubscriptionServiceTest {
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductUserNotificationRepository userNotificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    public void setup() {
+        userNotificationRepository.deleteAllInBatch();
+        product = new Product();
+        product.setStockStatus(Product.StockStatus.IN_STOCK);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    public void bulkSubscribeIsIdempotentAndUnsubscribeDeactivates() {
+        List<Long> userIds = new ArrayList<>(LongStream.rangeClosed(1, 3000).boxed().toList());
+        userIds.addAll(List.of(1L, 2L, 3L)); // 중복 사용자
+
+        assertEquals(3000, subscriptionService.subscribeAll(product.getId(), userIds).getUserCount());
+        subscriptionService.subscribeAll(product.getId(), userIds); // 다시 요청해도 행이 늘지 않음
+        assertEquals(3000, countRows());
+        assertEquals(3000, countActive());
+
+        subscriptionService.unsubscribeAll(product.getId(), LongStream.rangeClosed(1, 1000).boxed().toList());
+        assertEquals(3000, countRows());
+        assertEquals(2000, countActive());
+
+        subscriptionService.subscribeAll(product.getId(), List.of(1L, 2L)); // 해제된 구독 재활성화
+        assertEquals(2002, countActive());
+    }
+
+    @Test
+    public void concurrentSingleRequestsAreBatchedWithoutDuplicates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long i = 0; i < 2000; i++) {
+                long userId = i % 500 + 1; // 사용자당 4번씩 클릭
+                futures.add(executor.submit(() -> subscriptionService.subscribe(product.getId(), userId)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(500, countRows());
+        assertEquals(500, countActive());
+
+        subscriptionService.unsubscribe(product.getId(), 10L);
+        assertEquals(499, countActive());
+        subscriptionService.subscribe(product.getId(), 10L);
+        assertEquals(500, countActive());
+        assertEquals(500, countRows());
+    }
+
+    @Test
+    public void rejectsUnknownProductAndOversizedBulkRequest() {
+        assertThrows(ResourceNotFoundException.class, () -> subscriptionService.subscribe(-1L, 1L));
+        assertThrows(IllegalArgumentException.class, () ->
+                subscriptionService.subscribeAll(product.getId(), LongStream.rangeClosed(1, 5001).boxed().toList()));
+        assertThrows(IllegalArgumentException.class, () -> subscriptionService.subscribeAll(product.getId(), List.of()));
+        assertEquals(0, countRows());
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_user_notification WHERE product_id = ?",
+                Integer.class, product.getId());
+    }
+
+    private int countActive() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_user_notification WHERE product_id = ? AND is_active = true",
+                Integer.class, product.getId());
+    }
+}
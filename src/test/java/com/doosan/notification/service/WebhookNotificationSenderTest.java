@@ -0,0 +1,120 @@
+package com.doosan.notification.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로컬 HTTP 서버로 웹훅 전송 채널 검증: 묶음 본문, 응답 코드별 결과, 응답을 기다리지 않고 여러 묶음을 동시에 보내는지
+public class WebhookNotificationSenderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> receivedBodies = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            receivedBodies.add(objectMapper.readTree(exchange.getRequestBody()));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/error", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            receivedBodies.add(objectMapper.readTree(exchange.getRequestBody()));
+            try {
+                release.await(5, TimeUnit.SECONDS); // 응답을 붙잡아 둠
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void postsBatchAndMarksEveryMessageDelivered() {
+        List<NotificationSender.Message> messages = messages(3);
+
+        List<NotificationSender.Delivery> deliveries = sender("/ok").sendAll(messages).join();
+
+        assertEquals(3, deliveries.size());
+        assertTrue(deliveries.stream().allMatch(NotificationSender.Delivery::delivered));
+        assertEquals(messages, deliveries.stream().map(NotificationSender.Delivery::message).toList());
+        JsonNode notifications = receivedBodies.get(0).get("notifications");
+        assertEquals(3, notifications.size());
+        assertEquals(2, notifications.get(1).get("userId").asLong());
+        assertEquals(100, notifications.get(1).get("productId").asLong());
+        assertEquals(7, notifications.get(1).get("restockRound").asInt());
+    }
+
+    @Test
+    public void marksBatchFailedOnErrorResponseOrUnreachableEndpoint() {
+        List<NotificationSender.Delivery> rejected = sender("/error").sendAll(messages(2)).join();
+        assertTrue(rejected.stream().noneMatch(NotificationSender.Delivery::delivered));
+        assertEquals("HTTP 503", rejected.get(0).error());
+
+        WebhookNotificationSender unreachable = new WebhookNotificationSender(objectMapper, "http://127.0.0.1:1/none", 500, 1000);
+        List<NotificationSender.Delivery> failed = unreachable.sendAll(messages(2)).join();
+        assertTrue(failed.stream().noneMatch(NotificationSender.Delivery::delivered));
+        assertNotNull(failed.get(0).error());
+    }
+
+    @Test
+    public void sendsBatchesWithoutWaitingForEarlierResponses() throws Exception {
+        WebhookNotificationSender sender = sender("/slow");
+        List<CompletableFuture<List<NotificationSender.Delivery>>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            inFlight.add(sender.sendAll(messages(5))); // 호출 스레드는 응답을 기다리지 않음
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (receivedBodies.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, receivedBodies.size(), "앞선 묶음의 응답 전에 모든 묶음이 서버에 도착해야 한다.");
+        assertTrue(inFlight.stream().noneMatch(CompletableFuture::isDone));
+
+        release.countDown();
+        inFlight.forEach(future -> assertTrue(future.join().stream().allMatch(NotificationSender.Delivery::delivered)));
+    }
+
+    private WebhookNotificationSender sender(String path) {
+        return new WebhookNotificationSender(objectMapper, "http://127.0.0.1:" + server.getAddress().getPort() + path, 1000, 5000);
+    }
+
+    private List<NotificationSender.Message> messages(int count) {
+        List<NotificationSender.Message> messages = new ArrayList<>();
+        for (int userId = 1; userId <= count; userId++) {
+            messages.add(new NotificationSender.Message(userId, 100, 7));
+        }
+        return messages;
+    }
+}